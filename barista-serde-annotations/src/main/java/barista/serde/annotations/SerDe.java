@@ -5,5 +5,20 @@ import java.lang.annotation.Target;
 
 public @interface SerDe {
     @Target({ElementType.TYPE})
-    @interface Json {}
+    @interface Json {
+        /**
+         * The number of recently serialized values whose JSON the generated SerDe keeps and reuses
+         * for equal values, including when they are nested in other records, or 0 to not cache.
+         * Only appropriate for deeply immutable records, such as frequently repeated reference
+         * data.
+         */
+        int cacheSize() default 0;
+
+        /**
+         * The number of items from which the record's collection fields are serialized in chunks on
+         * several threads of the common fork/join pool, or 0 to always serialize on the calling
+         * thread. Suits records holding very large lists, such as exports.
+         */
+        int parallelThreshold() default 0;
+    }
 }
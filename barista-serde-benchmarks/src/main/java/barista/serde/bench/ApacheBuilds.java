@@ -21,6 +21,6 @@ public record ApacheBuilds(
     @SerDe.Json
     public record Job(String name, String url, String color) {}
 
-    @SerDe.Json
+    @SerDe.Json(cacheSize = 64)
     public record View(String name, String url) {}
 }
@@ -1,16 +1,15 @@
 package barista.serde.runtime.json;
 
-import barista.serde.runtime.parsec.ParseError;
+import barista.serde.runtime.parsec.DirectParser;
 import barista.serde.runtime.parsec.ParseState;
 import barista.serde.runtime.parsec.Parser;
 import barista.serde.runtime.parsec.Parsers;
-import io.github.markelliot.result.Result;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.Optional;
 import java.util.function.Function;
 
-final class AnyValueParser implements Parser<Object> {
+final class AnyValueParser implements DirectParser<Object> {
     public static final Parser<Object> INSTANCE = new AnyValueParser();
 
     /** A null parser that always returns Optional.empty(). */
@@ -20,7 +19,7 @@ final class AnyValueParser implements Parser<Object> {
     private AnyValueParser() {}
 
     @Override
-    public Result<Object, ParseError> parse(ParseState state) {
+    public Object parseDirect(ParseState state) {
         state.skipWhitespace();
 
         Parser<?> valueParser =
@@ -33,6 +32,6 @@ final class AnyValueParser implements Parser<Object> {
                     default -> JsonParsers.doubleParser();
                 };
 
-        return valueParser.parse(state).mapResult(r -> (Object) r);
+        return Parsers.direct(valueParser).parseDirect(state);
     }
 }
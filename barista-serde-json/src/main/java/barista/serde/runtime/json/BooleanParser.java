@@ -1,27 +1,38 @@
 package barista.serde.runtime.json;
 
-import barista.serde.runtime.parsec.ParseError;
+import barista.serde.runtime.parsec.DirectParser;
 import barista.serde.runtime.parsec.ParseState;
-import barista.serde.runtime.parsec.Parser;
 import barista.serde.runtime.parsec.Parsers;
-import io.github.markelliot.result.Result;
 
-final class BooleanParser implements Parser<Boolean> {
-    public static final Parser<Boolean> INSTANCE = new BooleanParser();
+final class BooleanParser implements DirectParser<Boolean> {
+    public static final BooleanParser INSTANCE = new BooleanParser();
 
-    private static final Parser<Boolean> TRUE =
-            Parsers.composeResult(Parsers.expect("true"), ignored -> Boolean.TRUE);
-    private static final Parser<Boolean> FALSE =
-            Parsers.composeResult(Parsers.expect("false"), ignored -> Boolean.FALSE);
+    private static final DirectParser<Boolean> TRUE =
+            Parsers.direct(Parsers.composeResult(Parsers.expect("true"), ignored -> Boolean.TRUE));
+    private static final DirectParser<Boolean> FALSE =
+            Parsers.direct(
+                    Parsers.composeResult(Parsers.expect("false"), ignored -> Boolean.FALSE));
 
     private BooleanParser() {}
 
+    /**
+     * Parses a {@code boolean} following the {@link DirectParser} contract, returning false on
+     * failure.
+     */
+    static boolean parseBoolean(ParseState state) {
+        Boolean value = INSTANCE.parseDirect(state);
+        return value != null && value;
+    }
+
     @Override
-    public Result<Boolean, ParseError> parse(ParseState state) {
+    public Boolean parseDirect(ParseState state) {
         return switch (state.current()) {
-            case 't' -> TRUE.parse(state);
-            case 'f' -> FALSE.parse(state);
-            default -> Result.error(state.mark().error("Expected value 'true' or 'false'"));
+            case 't' -> TRUE.parseDirect(state);
+            case 'f' -> FALSE.parseDirect(state);
+            default -> {
+                state.fail(state.markIndex(), "Expected value 'true' or 'false'");
+                yield null;
+            }
         };
     }
 }
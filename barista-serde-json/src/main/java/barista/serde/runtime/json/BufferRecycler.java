@@ -0,0 +1,97 @@
+package barista.serde.runtime.json;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Lends out byte buffers for serialization and takes them back for reuse, so that steady-state
+ * serialization allocates only its result.
+ *
+ * <p>Buffers come in a few size classes, each retained in a fixed number of slots that threads
+ * claim and fill with atomic swaps, so retention is bounded and no buffer is ever tied to a thread.
+ * That matters for virtual threads: a {@link ThreadLocal} cache either holds a buffer per
+ * (short-lived, numerous) virtual thread or, if keyed by carrier, hands one buffer to every virtual
+ * thread that mounts the carrier. Requests larger than the largest class are allocated exactly and
+ * dropped when released.
+ */
+final class BufferRecycler {
+    private static final int[] SIZE_CLASSES = {4 << 10, 32 << 10, 256 << 10};
+
+    /** Shared by all recycled writers, retaining up to two buffers per class per processor. */
+    static final BufferRecycler SHARED =
+            new BufferRecycler(
+                    SIZE_CLASSES,
+                    2
+                            * Integer.highestOneBit(
+                                    Math.min(Runtime.getRuntime().availableProcessors(), 32)));
+
+    private final int[] sizes;
+    private final int slotsPerClass;
+    /** The slots of each size class in turn, each holding a free buffer or null. */
+    private final AtomicReferenceArray<byte[]> slots;
+
+    /**
+     * Creates a recycler retaining at most {@code slotsPerClass} buffers, a power of two, of each
+     * of the ascending {@code sizes}.
+     */
+    BufferRecycler(int[] sizes, int slotsPerClass) {
+        if (Integer.bitCount(slotsPerClass) != 1) {
+            throw new IllegalArgumentException("slotsPerClass must be a power of two");
+        }
+        this.sizes = sizes.clone();
+        this.slotsPerClass = slotsPerClass;
+        this.slots = new AtomicReferenceArray<>(sizes.length * slotsPerClass);
+    }
+
+    /**
+     * Returns a buffer of at least {@code minCapacity} bytes, reusing a released one if possible.
+     */
+    byte[] acquire(int minCapacity) {
+        int sizeClass = 0;
+        while (sizeClass < sizes.length && sizes[sizeClass] < minCapacity) {
+            sizeClass++;
+        }
+        if (sizeClass == sizes.length) {
+            return new byte[minCapacity];
+        }
+        int base = sizeClass * slotsPerClass;
+        int probe = probe();
+        for (int i = 0; i < slotsPerClass; i++) {
+            int slot = base + ((probe + i) & (slotsPerClass - 1));
+            if (slots.get(slot) != null) {
+                byte[] buffer = slots.getAndSet(slot, null);
+                if (buffer != null) {
+                    return buffer;
+                }
+            }
+        }
+        return new byte[sizes[sizeClass]];
+    }
+
+    /**
+     * Offers {@code buffer} for reuse. The caller must not use it afterwards. Buffers that are not
+     * exactly a size class, or that arrive when their class is full, are left to the collector.
+     */
+    void release(byte[] buffer) {
+        int sizeClass = 0;
+        while (sizeClass < sizes.length && sizes[sizeClass] != buffer.length) {
+            sizeClass++;
+        }
+        if (sizeClass == sizes.length) {
+            return;
+        }
+        int base = sizeClass * slotsPerClass;
+        int probe = probe();
+        for (int i = 0; i < slotsPerClass; i++) {
+            int slot = base + ((probe + i) & (slotsPerClass - 1));
+            if (slots.get(slot) == null && slots.compareAndSet(slot, null, buffer)) {
+                return;
+            }
+        }
+    }
+
+    /** Spreads threads over the slots so that they rarely contend for the same one. */
+    private static int probe() {
+        long id = Thread.currentThread().getId();
+        return (int) ((id * 0x9E3779B97F4A7C15L) >>> 40);
+    }
+}
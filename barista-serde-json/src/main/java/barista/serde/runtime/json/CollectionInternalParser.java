@@ -1,32 +1,32 @@
 package barista.serde.runtime.json;
 
-import barista.serde.runtime.parsec.ParseError;
+import barista.serde.runtime.parsec.DirectParser;
 import barista.serde.runtime.parsec.ParseState;
 import barista.serde.runtime.parsec.Parser;
-import io.github.markelliot.result.Result;
+import barista.serde.runtime.parsec.Parsers;
 import java.util.Collection;
 import java.util.function.Supplier;
 
-final class CollectionInternalParser<T, C extends Collection<T>> implements Parser<C> {
-    private final Parser<T> itemParser;
+final class CollectionInternalParser<T, C extends Collection<T>> implements DirectParser<C> {
+    private final DirectParser<T> itemParser;
     private final Supplier<C> collectionFactory;
 
     CollectionInternalParser(Parser<T> itemParser, Supplier<C> collectionFactory) {
-        this.itemParser = itemParser;
+        this.itemParser = Parsers.direct(itemParser);
         this.collectionFactory = collectionFactory;
     }
 
     @Override
-    public Result<C, ParseError> parse(ParseState state) {
+    public C parseDirect(ParseState state) {
         C collection = collectionFactory.get();
         while (!state.isEndOfStream()) {
             state.skipWhitespace();
 
-            Result<T, ParseError> item = itemParser.parse(state);
-            if (item.isError()) {
-                return item.coerce();
+            T item = itemParser.parseDirect(state);
+            if (state.hasError()) {
+                return null;
             }
-            item.mapResult(collection::add);
+            collection.add(item);
 
             state.skipWhitespace();
             if (state.current() == ',') {
@@ -35,6 +35,6 @@ final class CollectionInternalParser<T, C extends Collection<T>> implements Pars
                 break;
             }
         }
-        return Result.ok(collection);
+        return collection;
     }
 }
@@ -0,0 +1,77 @@
+package barista.serde.runtime.json;
+
+import java.nio.charset.StandardCharsets;
+
+/** Writes decimal digits as ASCII bytes two at a time, using a table of every two-digit pair. */
+final class Digits {
+    private static final byte[] PAIRS = pairs();
+    private static final byte[] MIN_LONG =
+            Long.toString(Long.MIN_VALUE).getBytes(StandardCharsets.US_ASCII);
+
+    /** The longest whole number, {@link Long#MIN_VALUE}, in bytes. */
+    static final int MAX_LONG_LENGTH = MIN_LONG.length;
+
+    private Digits() {}
+
+    /** Writes {@code value} at {@code pos}, returning the index that follows it. */
+    static int writeLong(long value, byte[] out, int pos) {
+        if (value < 0) {
+            if (value == Long.MIN_VALUE) {
+                System.arraycopy(MIN_LONG, 0, out, pos, MIN_LONG.length);
+                return pos + MIN_LONG.length;
+            }
+            out[pos++] = '-';
+            value = -value;
+        }
+        int end = pos + count(value);
+        write(value, out, end);
+        return end;
+    }
+
+    /** Returns the number of bytes {@link #writeLong} writes for {@code value}. */
+    static int length(long value) {
+        if (value < 0) {
+            return value == Long.MIN_VALUE ? MIN_LONG.length : 1 + count(-value);
+        }
+        return count(value);
+    }
+
+    /** Returns the number of digits in non-negative {@code value}. */
+    static int count(long value) {
+        int digits = 1;
+        for (long limit = 10; digits < 19 && value >= limit; limit *= 10) {
+            digits++;
+        }
+        return digits;
+    }
+
+    /**
+     * Writes the digits of non-negative {@code value} so that the last one precedes {@code end}.
+     */
+    static void write(long value, byte[] out, int end) {
+        int pos = end;
+        while (value >= 100) {
+            long quotient = value / 100;
+            int pair = (int) (value - quotient * 100) << 1;
+            out[--pos] = PAIRS[pair + 1];
+            out[--pos] = PAIRS[pair];
+            value = quotient;
+        }
+        if (value >= 10) {
+            int pair = (int) value << 1;
+            out[--pos] = PAIRS[pair + 1];
+            out[--pos] = PAIRS[pair];
+        } else {
+            out[--pos] = (byte) ('0' + value);
+        }
+    }
+
+    private static byte[] pairs() {
+        byte[] pairs = new byte[200];
+        for (int i = 0; i < 100; i++) {
+            pairs[2 * i] = (byte) ('0' + i / 10);
+            pairs[2 * i + 1] = (byte) ('0' + i % 10);
+        }
+        return pairs;
+    }
+}
@@ -0,0 +1,158 @@
+package barista.serde.runtime.json;
+
+import java.math.BigInteger;
+
+/**
+ * Converts a decimal {@code w * 10^q} to the nearest binary floating-point value using the
+ * Eisel-Lemire algorithm, following the fast_float reference implementation
+ * (https://github.com/fastfloat/fast_float).
+ *
+ * <p>The result is exact for any {@code w} that holds all of the input's significant digits; when
+ * digits had to be truncated, callers compute the result for both {@code w} and {@code w + 1} and
+ * fall back to a slow path if they differ.
+ */
+final class EiselLemire {
+    private static final int SMALLEST_POWER_OF_FIVE = -342;
+    private static final int LARGEST_POWER_OF_FIVE = 308;
+
+    /** 128-bit truncated approximations of {@code 5^q}, as pairs of high and low words. */
+    private static final long[] POWERS_OF_FIVE = powersOfFive();
+
+    enum Format {
+        DOUBLE(52, -1023, 0x7FF, -4, 23, -342, 308),
+        FLOAT(23, -127, 0xFF, -17, 10, -65, 38);
+
+        private final int mantissaBits;
+        private final int minimumExponent;
+        private final int infinitePower;
+        private final int minRoundToEvenExponent;
+        private final int maxRoundToEvenExponent;
+        private final int smallestPowerOfTen;
+        private final int largestPowerOfTen;
+
+        Format(
+                int mantissaBits,
+                int minimumExponent,
+                int infinitePower,
+                int minRoundToEvenExponent,
+                int maxRoundToEvenExponent,
+                int smallestPowerOfTen,
+                int largestPowerOfTen) {
+            this.mantissaBits = mantissaBits;
+            this.minimumExponent = minimumExponent;
+            this.infinitePower = infinitePower;
+            this.minRoundToEvenExponent = minRoundToEvenExponent;
+            this.maxRoundToEvenExponent = maxRoundToEvenExponent;
+            this.smallestPowerOfTen = smallestPowerOfTen;
+            this.largestPowerOfTen = largestPowerOfTen;
+        }
+    }
+
+    private EiselLemire() {}
+
+    /**
+     * Returns the raw bits (without sign) of the value nearest to {@code w * 10^q}, treating {@code
+     * w} as unsigned.
+     */
+    static long toBits(Format format, long w, int q) {
+        if (w == 0 || q < format.smallestPowerOfTen) {
+            return 0;
+        }
+        if (q > format.largestPowerOfTen) {
+            return infinity(format);
+        }
+
+        int leadingZeros = Long.numberOfLeadingZeros(w);
+        w <<= leadingZeros;
+
+        // approximate w * 5^q with the high 64 bits of the 128-bit product, refining with the
+        // low word of the power only when the bits that determine rounding are all ones
+        int index = 2 * (q - SMALLEST_POWER_OF_FIVE);
+        long high = unsignedMultiplyHigh(w, POWERS_OF_FIVE[index]);
+        long low = w * POWERS_OF_FIVE[index];
+        long precisionMask = -1L >>> (format.mantissaBits + 3);
+        if ((high & precisionMask) == precisionMask) {
+            long secondHigh = unsignedMultiplyHigh(w, POWERS_OF_FIVE[index + 1]);
+            low += secondHigh;
+            if (Long.compareUnsigned(secondHigh, low) > 0) {
+                high++;
+            }
+        }
+
+        int upperBit = (int) (high >>> 63);
+        int shift = upperBit + 64 - format.mantissaBits - 3;
+        long mantissa = high >>> shift;
+        int power2 = power(q) + upperBit - leadingZeros - format.minimumExponent;
+
+        if (power2 <= 0) {
+            // subnormal
+            if (-power2 + 1 >= 64) {
+                return 0;
+            }
+            mantissa >>>= -power2 + 1;
+            mantissa += mantissa & 1;
+            mantissa >>>= 1;
+            power2 = mantissa < (1L << format.mantissaBits) ? 0 : 1;
+            return ((long) power2 << format.mantissaBits) | mantissa;
+        }
+
+        // exactly halfway between two values: round to even rather than up
+        if (Long.compareUnsigned(low, 1) <= 0
+                && q >= format.minRoundToEvenExponent
+                && q <= format.maxRoundToEvenExponent
+                && (mantissa & 3) == 1
+                && (mantissa << shift) == high) {
+            mantissa &= ~1L;
+        }
+
+        mantissa += mantissa & 1;
+        mantissa >>>= 1;
+        if (mantissa >= (2L << format.mantissaBits)) {
+            mantissa = 1L << format.mantissaBits;
+            power2++;
+        }
+        mantissa &= ~(1L << format.mantissaBits);
+        if (power2 >= format.infinitePower) {
+            return infinity(format);
+        }
+        return ((long) power2 << format.mantissaBits) | mantissa;
+    }
+
+    private static long infinity(Format format) {
+        return (long) format.infinitePower << format.mantissaBits;
+    }
+
+    /** Returns {@code floor(q * log2(10)) + 63}. */
+    private static int power(int q) {
+        return (((152170 + 65536) * q) >> 16) + 63;
+    }
+
+    private static long unsignedMultiplyHigh(long x, long y) {
+        return Math.multiplyHigh(x, y) + ((x >> 63) & y) + ((y >> 63) & x);
+    }
+
+    private static long[] powersOfFive() {
+        BigInteger twoTo128 = BigInteger.ONE.shiftLeft(128);
+        long[] powers = new long[2 * (LARGEST_POWER_OF_FIVE - SMALLEST_POWER_OF_FIVE + 1)];
+        for (int q = SMALLEST_POWER_OF_FIVE; q <= LARGEST_POWER_OF_FIVE; q++) {
+            BigInteger power;
+            if (q < 0) {
+                BigInteger power5 = BigInteger.valueOf(5).pow(-q);
+                int z = power5.subtract(BigInteger.ONE).bitLength();
+                int b = q >= -27 ? z + 127 : 2 * z + 128;
+                power = BigInteger.ONE.shiftLeft(b).divide(power5).add(BigInteger.ONE);
+                while (power.compareTo(twoTo128) >= 0) {
+                    power = power.shiftRight(1);
+                }
+            } else {
+                power = BigInteger.valueOf(5).pow(q);
+                power = power.shiftLeft(Math.max(0, 128 - power.bitLength()));
+                power = power.shiftRight(Math.max(0, power.bitLength() - 128));
+            }
+            int index = 2 * (q - SMALLEST_POWER_OF_FIVE);
+            powers[index] = power.shiftRight(64).longValue();
+            powers[index + 1] = power.longValue();
+        }
+        return powers;
+    }
+}
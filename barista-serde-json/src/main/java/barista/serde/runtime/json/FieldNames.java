@@ -0,0 +1,134 @@
+package barista.serde.runtime.json;
+
+import barista.serde.runtime.parsec.ParseState;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * A precomputed table of an object's field names that matches quoted keys directly against the
+ * input, so known keys are recognized without decoding them into a {@link String}.
+ *
+ * <p>ASCII names are bucketed by length and then compared unit-by-unit starting with the first
+ * character; this works for both character and UTF-8 input since ASCII characters and bytes
+ * coincide. Keys that contain escapes or non-ASCII characters are decoded and looked up by name.
+ */
+public final class FieldNames {
+    /** Index reported for keys that do not name any field. */
+    public static final int UNKNOWN = -1;
+
+    /** Index reported by {@link #match} for keys that must be decoded to be looked up. */
+    static final int DECODE = -2;
+
+    private static final int[] NO_CANDIDATES = new int[0];
+
+    private final String[] names;
+    private final int[][] byLength;
+    private final Map<String, Integer> byName;
+
+    private FieldNames(String[] names, Predicate<String> retained) {
+        this.names = names.clone();
+        this.byName = new HashMap<>();
+        int maxLength = 0;
+        for (String name : names) {
+            maxLength = Math.max(maxLength, name.length());
+        }
+        List<List<Integer>> buckets = new ArrayList<>();
+        for (int length = 0; length <= maxLength; length++) {
+            buckets.add(new ArrayList<>());
+        }
+        for (int i = 0; i < names.length; i++) {
+            if (byName.putIfAbsent(names[i], i) != null) {
+                throw new IllegalArgumentException("Duplicate field name '" + names[i] + "'");
+            }
+            if (!retained.test(names[i])) {
+                byName.remove(names[i]);
+            } else if (isAscii(names[i])) {
+                buckets.get(names[i].length()).add(i);
+            }
+        }
+        this.byLength = new int[maxLength + 1][];
+        for (int length = 0; length <= maxLength; length++) {
+            List<Integer> bucket = buckets.get(length);
+            byLength[length] =
+                    bucket.isEmpty()
+                            ? NO_CANDIDATES
+                            : bucket.stream().mapToInt(Integer::intValue).toArray();
+        }
+    }
+
+    public static FieldNames of(String... names) {
+        return new FieldNames(names, name -> true);
+    }
+
+    /**
+     * Returns a copy in which the fields not in {@code retained} are reported as {@link #UNKNOWN},
+     * keeping the indices of the others.
+     */
+    FieldNames retaining(Set<String> retained) {
+        return new FieldNames(names, retained::contains);
+    }
+
+    public int size() {
+        return names.length;
+    }
+
+    public String name(int index) {
+        return names[index];
+    }
+
+    /** Returns the index of the field called {@code name}, or {@link #UNKNOWN}. */
+    public int indexOf(String name) {
+        Integer index = byName.get(name);
+        return index == null ? UNKNOWN : index;
+    }
+
+    /**
+     * Matches the quoted key at the current position of {@code state}, consuming it and returning
+     * the index of the matching field or {@link #UNKNOWN}. Returns {@link #DECODE} without moving
+     * {@code state} if the key is not a plain ASCII string, including when it is malformed.
+     */
+    int match(ParseState state) {
+        if (state.current() != '"') {
+            return DECODE;
+        }
+        int length = 0;
+        for (int c = state.peek(1); c != '"'; c = state.peek(++length + 1)) {
+            if (c == '\\' || c < 0 || c > 0x7F) {
+                return DECODE;
+            }
+        }
+        int field = UNKNOWN;
+        if (length < byLength.length) {
+            for (int candidate : byLength[length]) {
+                if (regionMatches(state, names[candidate])) {
+                    field = candidate;
+                    break;
+                }
+            }
+        }
+        state.skip(length + 2);
+        return field;
+    }
+
+    private static boolean regionMatches(ParseState state, String name) {
+        for (int i = 0; i < name.length(); i++) {
+            if (state.peek(i + 1) != name.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isAscii(String name) {
+        for (int i = 0; i < name.length(); i++) {
+            if (name.charAt(i) > 0x7F) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
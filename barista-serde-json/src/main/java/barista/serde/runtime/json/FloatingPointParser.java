@@ -0,0 +1,218 @@
+package barista.serde.runtime.json;
+
+import barista.serde.runtime.json.EiselLemire.Format;
+import barista.serde.runtime.parsec.ParseState;
+
+/**
+ * Parses decimal floating-point numbers straight from a {@link ParseState}: digits are accumulated
+ * in place, exactly representable values take Clinger's fast path, all others are correctly rounded
+ * by {@link EiselLemire}, and only numbers whose truncated digits leave the result ambiguous (or
+ * that use syntax beyond JSON, such as hexadecimal) fall back to the JDK.
+ *
+ * <p>The special values {@code NaN}, {@code Infinity} and {@code Inf} (optionally negated) are
+ * recognized as well; JSON disallows them but they have historically been accepted here.
+ */
+final class FloatingPointParser {
+    /** Returned by {@link #scan} when the number must be parsed by the JDK. */
+    private static final long FALLBACK = -1L;
+
+    private static final int MAX_SIGNIFICANT_DIGITS = 19;
+
+    private static final double[] DOUBLE_POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16,
+        1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+    private static final float[] FLOAT_POWERS_OF_TEN = {
+        1e0f, 1e1f, 1e2f, 1e3f, 1e4f, 1e5f, 1e6f, 1e7f, 1e8f, 1e9f, 1e10f
+    };
+
+    private FloatingPointParser() {}
+
+    static double parseDouble(ParseState state) {
+        int pos = state.markIndex();
+        long bits = scan(state, Format.DOUBLE);
+        if (bits != FALLBACK) {
+            return Double.longBitsToDouble(bits);
+        }
+        skipToBoundary(state);
+        try {
+            return Double.parseDouble(state.slice(pos).toString());
+        } catch (NumberFormatException nfe) {
+            state.fail(pos, "Cannot parse double from value");
+            return 0;
+        }
+    }
+
+    static float parseFloat(ParseState state) {
+        int pos = state.markIndex();
+        long bits = scan(state, Format.FLOAT);
+        if (bits != FALLBACK) {
+            return Float.intBitsToFloat((int) bits);
+        }
+        skipToBoundary(state);
+        try {
+            return Float.parseFloat(state.slice(pos).toString());
+        } catch (NumberFormatException nfe) {
+            state.fail(pos, "Cannot parse float from value");
+            return 0;
+        }
+    }
+
+    /**
+     * Consumes a number and returns the raw bits of its value in {@code format}, or {@link
+     * #FALLBACK} after consuming some prefix of the number.
+     */
+    private static long scan(ParseState state, Format format) {
+        int current = state.current();
+        boolean negative = current == '-';
+        if (negative || current == '+') {
+            current = state.next();
+        }
+        if (current == 'I' || current == 'N') {
+            return special(state, format, negative);
+        }
+
+        // accumulate up to 19 significant digits, which always fit in an unsigned long, and track
+        // whether any non-zero digits beyond those had to be dropped
+        long w = 0;
+        int significantDigits = 0;
+        int exponent = 0;
+        boolean truncated = false;
+        boolean anyDigits = false;
+        for (; isDigit(current); current = state.next()) {
+            anyDigits = true;
+            if (significantDigits < MAX_SIGNIFICANT_DIGITS) {
+                w = w * 10 + (current - '0');
+                significantDigits += w != 0 ? 1 : 0;
+            } else {
+                exponent++;
+                truncated |= current != '0';
+            }
+        }
+        if (current == '.') {
+            for (current = state.next(); isDigit(current); current = state.next()) {
+                anyDigits = true;
+                if (significantDigits < MAX_SIGNIFICANT_DIGITS) {
+                    w = w * 10 + (current - '0');
+                    significantDigits += w != 0 ? 1 : 0;
+                    exponent--;
+                } else {
+                    truncated |= current != '0';
+                }
+            }
+        }
+        if (!anyDigits) {
+            return FALLBACK;
+        }
+
+        if (current == 'e' || current == 'E') {
+            current = state.next();
+            boolean negativeExponent = current == '-';
+            if (negativeExponent || current == '+') {
+                current = state.next();
+            }
+            if (!isDigit(current)) {
+                return FALLBACK;
+            }
+            int explicitExponent = 0;
+            for (; isDigit(current); current = state.next()) {
+                // saturate well beyond any representable exponent
+                if (explicitExponent < 100_000) {
+                    explicitExponent = explicitExponent * 10 + (current - '0');
+                }
+            }
+            exponent += negativeExponent ? -explicitExponent : explicitExponent;
+        }
+        if (!JsonParsers.isValueBoundary(current)) {
+            return FALLBACK;
+        }
+
+        long bits;
+        if (truncated) {
+            bits = EiselLemire.toBits(format, w, exponent);
+            if (bits != EiselLemire.toBits(format, w + 1, exponent)) {
+                return FALLBACK;
+            }
+        } else {
+            bits = exact(format, w, exponent);
+        }
+        return withSign(format, bits, negative);
+    }
+
+    /** Converts {@code w * 10^exponent} where {@code w} holds every significant digit. */
+    private static long exact(Format format, long w, int exponent) {
+        // Clinger's fast path: both operands are exact, so IEEE arithmetic rounds correctly
+        if (format == Format.DOUBLE) {
+            if (w >= 0
+                    && w <= 1L << 53
+                    && -22 <= exponent
+                    && exponent <= DOUBLE_POWERS_OF_TEN.length - 1) {
+                double value = (double) w;
+                value =
+                        exponent < 0
+                                ? value / DOUBLE_POWERS_OF_TEN[-exponent]
+                                : value * DOUBLE_POWERS_OF_TEN[exponent];
+                return Double.doubleToRawLongBits(value);
+            }
+        } else if (w >= 0
+                && w <= 1L << 24
+                && -10 <= exponent
+                && exponent <= FLOAT_POWERS_OF_TEN.length - 1) {
+            float value = (float) w;
+            value =
+                    exponent < 0
+                            ? value / FLOAT_POWERS_OF_TEN[-exponent]
+                            : value * FLOAT_POWERS_OF_TEN[exponent];
+            return Float.floatToRawIntBits(value);
+        }
+        return EiselLemire.toBits(format, w, exponent);
+    }
+
+    private static long special(ParseState state, Format format, boolean negative) {
+        // TODO(markelliot): maybe we should have a flag to allow this, it's a little more
+        //  liberal than the JSON spec, which disallows these special values
+        double value;
+        if (matches(state, "NaN")) {
+            value = Double.NaN;
+        } else if (matches(state, "Infinity") || matches(state, "Inf")) {
+            value = negative ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+        } else {
+            return FALLBACK;
+        }
+        return format == Format.DOUBLE
+                ? Double.doubleToRawLongBits(value)
+                : Float.floatToRawIntBits((float) value) & 0xFFFF_FFFFL;
+    }
+
+    /** Consumes {@code literal} if it makes up the rest of the current value. */
+    private static boolean matches(ParseState state, String literal) {
+        for (int i = 0; i < literal.length(); i++) {
+            if (state.peek(i) != literal.charAt(i)) {
+                return false;
+            }
+        }
+        if (!JsonParsers.isValueBoundary(state.peek(literal.length()))) {
+            return false;
+        }
+        state.skip(literal.length());
+        return true;
+    }
+
+    private static long withSign(Format format, long bits, boolean negative) {
+        if (!negative) {
+            return bits;
+        }
+        return format == Format.DOUBLE ? bits | Long.MIN_VALUE : bits | (1L << 31);
+    }
+
+    private static void skipToBoundary(ParseState state) {
+        for (int current = state.current();
+                !JsonParsers.isValueBoundary(current);
+                current = state.next())
+            ;
+    }
+
+    private static boolean isDigit(int character) {
+        return character >= '0' && character <= '9';
+    }
+}
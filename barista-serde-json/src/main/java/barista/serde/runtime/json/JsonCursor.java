@@ -0,0 +1,352 @@
+package barista.serde.runtime.json;
+
+import barista.serde.runtime.parsec.ParseError;
+import barista.serde.runtime.parsec.ParseState;
+import barista.serde.runtime.parsec.Parser;
+import barista.serde.runtime.parsec.Parsers;
+import io.github.markelliot.result.Result;
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * A forward-only, on-demand reader of arbitrary JSON: values are parsed only when they are read,
+ * and values that are never read are skipped as {@link JsonParsers#skip()} does, and those left
+ * partway through by balancing brackets, rather than built as with {@link JsonParsers#any()}.
+ *
+ * <p>The cursor is positioned at one value at a time: initially the document, and then the value of
+ * the field or element most recently reached with {@link ObjectCursor#next()} or {@link
+ * ArrayCursor#next()}. That value can be inspected with {@link #type()} and then either read, for
+ * example with {@link #readString()}, entered with {@link #object()} or {@link #array()}, or
+ * ignored. For instance, to read a field of a nested object:
+ *
+ * <pre>{@code
+ * JsonCursor cursor = JsonCursor.of(ParseState.of(bytes));
+ * JsonCursor.ObjectCursor root = cursor.object();
+ * if (root.find("routing") && cursor.type().equals(Optional.of(JsonCursor.Type.OBJECT))) {
+ *     JsonCursor.ObjectCursor routing = cursor.object();
+ *     if (routing.find("region")) {
+ *         Result<String, ParseError> region = cursor.readString();
+ *     }
+ * }
+ * }</pre>
+ *
+ * <p>Malformed input stops the cursor: every later {@code next()} returns false, reads return the
+ * error, and {@link #error()} reports it.
+ */
+public final class JsonCursor {
+    /** The kinds of JSON value. */
+    public enum Type {
+        OBJECT,
+        ARRAY,
+        STRING,
+        NUMBER,
+        BOOLEAN,
+        NULL
+    }
+
+    private final ParseState state;
+
+    /** The number of containers entered and not yet left. */
+    private int depth;
+
+    /** Whether the cursor is at a value that has been neither read nor entered. */
+    private boolean pending = true;
+
+    private ParseError error;
+
+    private JsonCursor(ParseState state) {
+        this.state = state;
+    }
+
+    /** Returns a cursor positioned at the JSON document in {@code state}. */
+    public static JsonCursor of(ParseState state) {
+        return new JsonCursor(state);
+    }
+
+    /** Returns the type of the value at the cursor, or empty if there is no valid value. */
+    public Optional<Type> type() {
+        if (!pending || error != null) {
+            return Optional.empty();
+        }
+        state.skipWhitespace();
+        return Optional.ofNullable(
+                switch (state.current()) {
+                    case '{' -> Type.OBJECT;
+                    case '[' -> Type.ARRAY;
+                    case '"' -> Type.STRING;
+                    case 't', 'f' -> Type.BOOLEAN;
+                    case 'n' -> Type.NULL;
+                    case '-', '+', '0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'N', 'I' -> Type
+                            .NUMBER;
+                    default -> null;
+                });
+    }
+
+    /** Parses the value at the cursor with {@code parser}. */
+    public <T> Result<T, ParseError> read(Parser<T> parser) {
+        if (!enterValue()) {
+            return Result.error(error);
+        }
+        T value = Parsers.direct(parser).parseDirect(state);
+        if (state.hasError()) {
+            error = state.takeError();
+            return Result.error(error);
+        }
+        return Result.ok(value);
+    }
+
+    public Result<String, ParseError> readString() {
+        return read(JsonParsers.string());
+    }
+
+    public Result<Double, ParseError> readDouble() {
+        return read(JsonParsers.doubleParser());
+    }
+
+    public Result<Long, ParseError> readLong() {
+        return read(JsonParsers.longParser());
+    }
+
+    public Result<Boolean, ParseError> readBoolean() {
+        return read(JsonParsers.booleanParser());
+    }
+
+    /** Reads the whole value at the cursor as {@link JsonParsers#any()} would. */
+    public Result<Object, ParseError> readAny() {
+        return read(JsonParsers.any());
+    }
+
+    /** Skips the value at the cursor without building it. */
+    public void skip() {
+        if (enterValue()) {
+            ValueSkipper.skip(state);
+            checkState();
+        }
+    }
+
+    /**
+     * Enters the object at the cursor, whose fields are then reached with the returned cursor. If
+     * the value is not an object, the cursor stops with an error.
+     */
+    public ObjectCursor object() {
+        return new ObjectCursor(enterContainer('{'));
+    }
+
+    /**
+     * Enters the array at the cursor, whose elements are then reached with the returned cursor. If
+     * the value is not an array, the cursor stops with an error.
+     */
+    public ArrayCursor array() {
+        return new ArrayCursor(enterContainer('['));
+    }
+
+    /** Returns the error that stopped this cursor, if any. */
+    public Optional<ParseError> error() {
+        return Optional.ofNullable(error);
+    }
+
+    /** Consumes the pending value's leading whitespace, returning false if there is none. */
+    private boolean enterValue() {
+        if (error != null) {
+            return false;
+        }
+        if (!pending) {
+            throw new IllegalStateException("The value at the cursor has already been consumed");
+        }
+        pending = false;
+        state.skipWhitespace();
+        return true;
+    }
+
+    /** Enters a container, returning its depth or -1 if there is no such container. */
+    private int enterContainer(char open) {
+        if (!enterValue()) {
+            return -1;
+        }
+        if (state.current() != open) {
+            state.fail(state.markIndex(), "Expected to find '" + open + "'");
+            checkState();
+            return -1;
+        }
+        state.next();
+        return ++depth;
+    }
+
+    /**
+     * Moves to where the container at {@code containerDepth} continues, skipping whatever remains
+     * of the pending value and of any containers entered within it.
+     */
+    private boolean settle(int containerDepth) {
+        if (depth > containerDepth) {
+            ValueSkipper.skipRest(state, depth - containerDepth);
+            depth = containerDepth;
+        } else if (pending) {
+            ValueSkipper.skip(state);
+        }
+        pending = false;
+        return checkState();
+    }
+
+    /**
+     * Moves past the separator before the next entry of a container at {@code containerDepth},
+     * returning true if there is one, or consuming {@code close} and returning false if not.
+     */
+    private boolean nextEntry(int containerDepth, boolean first, char close) {
+        if (!settle(containerDepth)) {
+            return false;
+        }
+        state.skipWhitespace();
+        int current = state.current();
+        if (current == close) {
+            state.next();
+            depth = containerDepth - 1;
+            return false;
+        }
+        if (!first) {
+            if (current != ',') {
+                state.fail(state.markIndex(), "Expected to find ',' or '" + close + "'");
+                return checkState();
+            }
+            state.next();
+            state.skipWhitespace();
+        }
+        return true;
+    }
+
+    /** Moves a pending error from the state to this cursor, returning true if there was none. */
+    private boolean checkState() {
+        if (state.hasError()) {
+            error = state.takeError();
+            return false;
+        }
+        return true;
+    }
+
+    /** Visits the fields of an object, positioning the enclosing cursor at each field's value. */
+    public final class ObjectCursor {
+        private final int containerDepth;
+        private boolean first = true;
+        private boolean done;
+
+        /** The current key, when it has been decoded, else null and the key is in {@code chars}. */
+        private String key;
+
+        private char[] chars = new char[32];
+        private int length;
+
+        private ObjectCursor(int containerDepth) {
+            this.containerDepth = containerDepth;
+            this.done = containerDepth < 0;
+        }
+
+        /**
+         * Moves to the next field, skipping the previous field's value if it was not consumed, and
+         * returns true, or returns false at the end of the object.
+         */
+        public boolean next() {
+            if (done || error != null || !nextEntry(containerDepth, first, '}')) {
+                done = true;
+                return false;
+            }
+            first = false;
+            if (!readKey()) {
+                done = true;
+                return false;
+            }
+            KeyValueSeparatorParser.INSTANCE.parseDirect(state);
+            if (!checkState()) {
+                done = true;
+                return false;
+            }
+            pending = true;
+            return true;
+        }
+
+        /**
+         * Moves forward to the field called {@code name}, returning false, at the end of the
+         * object, if there is no such field among the remaining ones.
+         */
+        public boolean find(String name) {
+            while (next()) {
+                if (nameEquals(name)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /** Returns the name of the current field. */
+        public String name() {
+            if (key == null) {
+                key = new String(chars, 0, length);
+            }
+            return key;
+        }
+
+        /** Returns whether the current field is called {@code name}, without allocating. */
+        public boolean nameEquals(String name) {
+            if (key != null) {
+                return key.equals(name);
+            }
+            if (name.length() != length) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                if (chars[i] != name.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /** Reads a plain ASCII key into {@code chars} in place, and decodes any other key. */
+        private boolean readKey() {
+            key = null;
+            length = 0;
+            if (state.current() == '"') {
+                for (int c = state.peek(1); c != '"'; c = state.peek(++length + 1)) {
+                    if (c == '\\' || c < 0 || c > 0x7F) {
+                        length = -1;
+                        break;
+                    }
+                    if (length == chars.length) {
+                        chars = Arrays.copyOf(chars, length * 2);
+                    }
+                    chars[length] = (char) c;
+                }
+                if (length >= 0) {
+                    state.skip(length + 2);
+                    return true;
+                }
+            }
+            key = QuotedStringParser.INSTANCE.parseDirect(state);
+            return checkState();
+        }
+    }
+
+    /** Visits the elements of an array, positioning the enclosing cursor at each element. */
+    public final class ArrayCursor {
+        private final int containerDepth;
+        private boolean first = true;
+        private boolean done;
+
+        private ArrayCursor(int containerDepth) {
+            this.containerDepth = containerDepth;
+            this.done = containerDepth < 0;
+        }
+
+        /**
+         * Moves to the next element, skipping the previous element if it was not consumed, and
+         * returns true, or returns false at the end of the array.
+         */
+        public boolean next() {
+            if (done || error != null || !nextEntry(containerDepth, first, ']')) {
+                done = true;
+                return false;
+            }
+            first = false;
+            pending = true;
+            return true;
+        }
+    }
+}
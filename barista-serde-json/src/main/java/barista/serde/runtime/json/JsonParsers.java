@@ -1,5 +1,6 @@
 package barista.serde.runtime.json;
 
+import barista.serde.runtime.parsec.DirectParser;
 import barista.serde.runtime.parsec.Empty;
 import barista.serde.runtime.parsec.ParseState;
 import barista.serde.runtime.parsec.Parser;
@@ -45,6 +46,29 @@ public final class JsonParsers {
         return WholeNumberParser.LONG;
     }
 
+    /**
+     * Parses a {@code byte} straight from {@code state} following the {@link DirectParser}
+     * contract: on failure the error is recorded on {@code state} and 0 is returned.
+     */
+    public static byte parseByte(ParseState state) {
+        return WholeNumberParser.parseByte(state);
+    }
+
+    /** Parses a {@code short} like {@link #parseByte(ParseState)}. */
+    public static short parseShort(ParseState state) {
+        return WholeNumberParser.parseShort(state);
+    }
+
+    /** Parses an {@code int} like {@link #parseByte(ParseState)}. */
+    public static int parseInt(ParseState state) {
+        return WholeNumberParser.parseInt(state);
+    }
+
+    /** Parses a {@code long} like {@link #parseByte(ParseState)}. */
+    public static long parseLong(ParseState state) {
+        return WholeNumberParser.parseLong(state);
+    }
+
     public static Parser<Float> floatParser() {
         return FloatParser.INSTANCE;
     }
@@ -53,6 +77,16 @@ public final class JsonParsers {
         return DoubleParser.INSTANCE;
     }
 
+    /** Parses a correctly rounded {@code float} like {@link #parseByte(ParseState)}. */
+    public static float parseFloat(ParseState state) {
+        return FloatingPointParser.parseFloat(state);
+    }
+
+    /** Parses a correctly rounded {@code double} like {@link #parseByte(ParseState)}. */
+    public static double parseDouble(ParseState state) {
+        return FloatingPointParser.parseDouble(state);
+    }
+
     public static Parser<Empty> nullParser() {
         return NullParser.INSTANCE;
     }
@@ -86,6 +120,31 @@ public final class JsonParsers {
                 collectionFactory);
     }
 
+    /** Parses an array of whole numbers into an {@code int[]} without boxing its elements. */
+    public static Parser<int[]> intArray() {
+        return PrimitiveArrayParser.INT;
+    }
+
+    /** Parses an array of whole numbers into a {@code long[]} without boxing its elements. */
+    public static Parser<long[]> longArray() {
+        return PrimitiveArrayParser.LONG;
+    }
+
+    /** Parses an array of numbers into a {@code float[]} without boxing its elements. */
+    public static Parser<float[]> floatArray() {
+        return PrimitiveArrayParser.FLOAT;
+    }
+
+    /** Parses an array of numbers into a {@code double[]} without boxing its elements. */
+    public static Parser<double[]> doubleArray() {
+        return PrimitiveArrayParser.DOUBLE;
+    }
+
+    /** Parses an array of booleans into a {@code boolean[]} without boxing its elements. */
+    public static Parser<boolean[]> booleanArray() {
+        return PrimitiveArrayParser.BOOLEAN;
+    }
+
     private static <T, C extends Collection<T>> Parser<C> collectionInternal(
             Parser<T> itemParser, Supplier<C> collectionFactory) {
         return new CollectionInternalParser<>(itemParser, collectionFactory);
@@ -100,6 +159,31 @@ public final class JsonParsers {
                 mapFactory);
     }
 
+    /**
+     * Returns a parser for objects whose keys are quoted integers, parsing each key straight to a
+     * number rather than through an intermediate {@code String}.
+     */
+    public static <V> Parser<Map<Integer, V>> integerKeyMap(
+            Parser<V> itemParser, Supplier<Map<Integer, V>> mapFactory) {
+        return Parsers.between(
+                Parsers.expect('{'),
+                new MapInternalParser<>(
+                        WholeNumberParser.INT_KEY, ignored -> itemParser, mapFactory),
+                Parsers.expect('}'),
+                mapFactory);
+    }
+
+    /** As {@link #integerKeyMap(Parser, Supplier)}, for keys that are quoted longs. */
+    public static <V> Parser<Map<Long, V>> longKeyMap(
+            Parser<V> itemParser, Supplier<Map<Long, V>> mapFactory) {
+        return Parsers.between(
+                Parsers.expect('{'),
+                new MapInternalParser<>(
+                        WholeNumberParser.LONG_KEY, ignored -> itemParser, mapFactory),
+                Parsers.expect('}'),
+                mapFactory);
+    }
+
     private static <K, V> Parser<Map<K, V>> mapInternal(
             Function<String, K> keyFn,
             Function<K, Parser<V>> itemParser,
@@ -113,19 +197,29 @@ public final class JsonParsers {
      * desired type using {@code map}.
      *
      * <p>See {@link #objectAsMap(Function)} for additional details on authoring {@code
-     * fieldToParser} functions.
+     * fieldToParser} functions, and {@link #object(FieldNames, Supplier)} for a variant that avoids
+     * the intermediate map.
      */
-    // TODO(markelliot): this is one of the easiest ways to implement an object parser, but since
-    //  we can generate code, it's possible we might be able to do better. A couple of variants to
-    //  consider:
-    //  1. Generate objectInternal() for each object we wish to parse.
-    //  2. Accept a BiConsumer<String, Object> rather than creating a HashMap
-    //  3. Produce a List<FieldRecord> for record FieldRecord(String field, Object value)
     public static <T> Parser<T> object(
             Function<String, Parser<?>> fieldToParser, Function<Map<String, Object>, T> map) {
         return state -> objectAsMap(fieldToParser).parse(state).mapResult(map);
     }
 
+    /**
+     * Returns a parser that creates a fresh {@link ObjectBuilder} for each object it parses, hands
+     * it every field of the object identified by its index in {@code fields}, and then produces the
+     * value returned by {@link ObjectBuilder#build}.
+     *
+     * <p>Unlike {@link #object(Function, Function)}, this avoids an intermediate {@code Map},
+     * matches keys against {@code fields} without allocating a {@code String} per key and lets
+     * builders store field values in typed (and unboxed) slots, which is how generated parsers are
+     * implemented.
+     */
+    public static <T> Parser<T> object(
+            FieldNames fields, Supplier<? extends ObjectBuilder<T>> builderFactory) {
+        return new ObjectParser<>(fields, builderFactory);
+    }
+
     /**
      * Returns a parser that parses field values using the parsers returned by {@code fieldToParser}
      * and produces a {@code Map<String, Object>} with keys corresponding to encountered keys and
@@ -185,6 +279,23 @@ public final class JsonParsers {
         return AnyValueParser.INSTANCE;
     }
 
+    /**
+     * Returns a parser that will parse well-formed JSON values of arbitrary depth into a compact
+     * {@link JsonTape}, which can be navigated in place or converted to the values {@link #any()}
+     * produces.
+     */
+    public static Parser<JsonTape> tape() {
+        return TapeParser.INSTANCE;
+    }
+
+    /**
+     * Returns a parser that validates and moves past a JSON value of arbitrary depth, accepting
+     * what {@link #any()} accepts, without building it or allocating.
+     */
+    public static Parser<Empty> skip() {
+        return ValueSkipper.INSTANCE;
+    }
+
     /** Returns a parser that always produces an error indicating an unknown field key. */
     public static <T> Parser<T> unknownField(String field) {
         return Parsers.error("Unknown field '" + field + "'");
@@ -0,0 +1,237 @@
+package barista.serde.runtime.json;
+
+import barista.serde.runtime.parsec.ParseError;
+import barista.serde.runtime.parsec.ParseState;
+import barista.serde.runtime.parsec.Parser;
+import io.github.markelliot.result.Result;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Reads a sequence of UTF-8 encoded JSON values, such as JSON Lines (NDJSON) or concatenated JSON
+ * with or without separating whitespace, as a stream of parse results, one per value.
+ *
+ * <p>Values are split apart by a single scan that tracks only strings, escapes and bracket depth,
+ * and are parsed as the stream is consumed. The returned streams are sequential and ordered;
+ * calling {@link Stream#parallel()} parses batches of values concurrently, still in input order
+ * unless {@link Stream#unordered()} is also called. Parse errors report line numbers within the
+ * whole input, and columns relative to the start of the value on its first line.
+ *
+ * <p>Since values are split by bracket depth, a value with unbalanced brackets extends to the end
+ * of the input and is reported as a single error. I/O failures are thrown as {@link
+ * UncheckedIOException}.
+ */
+public final class JsonRecords {
+    private static final int BLOCK_SIZE = 1 << 20;
+
+    private JsonRecords() {}
+
+    /**
+     * Returns the results of parsing each value of {@code input} with {@code parser}. The stream is
+     * not closed.
+     */
+    public static <T> Stream<Result<T, ParseError>> stream(InputStream input, Parser<T> parser) {
+        return stream(input, parser, BLOCK_SIZE);
+    }
+
+    /**
+     * Returns the results of parsing each value of {@code file} with {@code parser}; the file is
+     * closed when the returned stream is.
+     */
+    public static <T> Stream<Result<T, ParseError>> stream(Path file, Parser<T> parser)
+            throws IOException {
+        InputStream input = Files.newInputStream(file);
+        return stream(input, parser)
+                .onClose(
+                        () -> {
+                            try {
+                                input.close();
+                            } catch (IOException e) {
+                                throw new UncheckedIOException(e);
+                            }
+                        });
+    }
+
+    static <T> Stream<Result<T, ParseError>> stream(
+            InputStream input, Parser<T> parser, int blockSize) {
+        Spliterator<Chunk> chunks =
+                Spliterators.spliteratorUnknownSize(
+                        new Splitter(input, blockSize), Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(chunks, false).map(chunk -> parse(chunk, parser));
+    }
+
+    private static <T> Result<T, ParseError> parse(Chunk chunk, Parser<T> parser) {
+        ParseState state =
+                ParseState.of(ByteBuffer.wrap(chunk.bytes(), chunk.offset(), chunk.length()));
+        Result<T, ParseError> result = parser.parse(state);
+        if (!result.isError()) {
+            state.skipWhitespace();
+            if (state.isEndOfStream()) {
+                return result;
+            }
+            state.fail(state.markIndex(), "Unexpected characters after JSON value");
+            result = Result.error(state.takeError());
+        }
+        ParseError error = result.error().orElseThrow();
+        return Result.error(
+                new ParseError(
+                        error.markIndex(),
+                        error.index(),
+                        error.seq(),
+                        error.message(),
+                        error.lineOffset() + chunk.line() - 1));
+    }
+
+    /** The bytes of one value and the line on which it starts. */
+    private record Chunk(byte[] bytes, int offset, int length, int line) {}
+
+    /**
+     * Splits the input into {@link Chunk}s. Input is read into blocks that are never overwritten
+     * once a chunk refers to them, so chunks may be parsed on other threads: a value that does not
+     * fit in the rest of a block is copied to the start of a new one.
+     */
+    private static final class Splitter implements Iterator<Chunk> {
+        private final InputStream input;
+        private final int blockSize;
+        private byte[] block;
+        private int start;
+        private int position;
+        private int limit;
+        private int line = 1;
+        private Chunk next;
+
+        Splitter(InputStream input, int blockSize) {
+            this.input = input;
+            this.blockSize = blockSize;
+            this.block = new byte[blockSize];
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null) {
+                next = read();
+            }
+            return next != null;
+        }
+
+        @Override
+        public Chunk next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Chunk chunk = next;
+            next = null;
+            return chunk;
+        }
+
+        private Chunk read() {
+            // skip whitespace between values
+            while (true) {
+                start = position;
+                if (position == limit && !fill()) {
+                    return null;
+                }
+                byte current = block[position];
+                if (!isWhitespace(current)) {
+                    break;
+                }
+                if (current == '\n') {
+                    line++;
+                }
+                position++;
+            }
+
+            int startLine = line;
+            byte first = block[position];
+            boolean scalar = first != '{' && first != '[' && first != '"';
+            boolean inString = false;
+            boolean escaped = false;
+            int depth = 0;
+            scan:
+            while (position < limit || fill()) {
+                byte current = block[position];
+                if (escaped) {
+                    escaped = false;
+                } else if (inString) {
+                    if (current == '\\') {
+                        escaped = true;
+                    } else if (current == '"') {
+                        inString = false;
+                        if (depth == 0) {
+                            position++;
+                            break;
+                        }
+                    }
+                } else if (scalar) {
+                    if (isWhitespace(current)
+                            || current == '{'
+                            || current == '['
+                            || current == '"') {
+                        break;
+                    }
+                } else {
+                    switch (current) {
+                        case '"' -> inString = true;
+                        case '{', '[' -> depth++;
+                        case '}', ']' -> {
+                            if (--depth == 0) {
+                                position++;
+                                break scan;
+                            }
+                        }
+                        default -> {
+                        }
+                    }
+                }
+                if (current == '\n') {
+                    line++;
+                }
+                position++;
+            }
+            return new Chunk(block, start, position - start, startLine);
+        }
+
+        /**
+         * Reads more input, moving the value that starts at {@code start} to a new block if this
+         * one is full, and returns false at the end of the input.
+         */
+        private boolean fill() {
+            if (limit == block.length) {
+                int retained = limit - start;
+                byte[] next = new byte[Math.max(blockSize, 2 * retained)];
+                System.arraycopy(block, start, next, 0, retained);
+                block = next;
+                position -= start;
+                start = 0;
+                limit = retained;
+            }
+            try {
+                int read;
+                do {
+                    read = input.read(block, limit, block.length - limit);
+                } while (read == 0);
+                if (read < 0) {
+                    return false;
+                }
+                limit += read;
+                return true;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private static boolean isWhitespace(byte current) {
+            return current == ' ' || current == '\n' || current == '\r' || current == '\t';
+        }
+    }
+}
@@ -1,121 +1,171 @@
 package barista.serde.runtime.json;
 
+import java.util.Arrays;
+
 public final class JsonStrings {
+    /**
+     * For each ASCII character, the character written after a backslash to escape it, {@code 'u'}
+     * if it must be written as a four digit unicode escape, or 0 if it needs no escaping.
+     */
+    private static final byte[] ESCAPES = escapeTable(true);
+
+    private static final byte[] ESCAPES_WITHOUT_SLASH = escapeTable(false);
+
+    static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    /** Hexadecimal digit values for ASCII characters, or -1 for non-digits. */
+    private static final byte[] HEX_DIGITS = hexDigits();
+
     private JsonStrings() {}
 
+    /**
+     * Returns {@code value} with its JSON escapes decoded, or {@code value} itself if it contains
+     * no escapes. Unknown escapes and malformed unicode escapes are left as-is.
+     */
     public static CharSequence unescape(CharSequence value) {
-        // we could potentially defer the creation of this StringBuilder
-        // until we need it but it should be light-weight-ish?
-        StringBuilder sb = new StringBuilder();
+        StringBuilder sb = null;
         int read = 0;
-        for (int i = 0; i < value.length(); i++) {
-            if (value.charAt(i) == '\\') {
-                i += 1;
-                char next = value.charAt(i);
-                switch (next) {
-                    case '"', '\\', '/' -> {
-                        sb.append(value, read, i - 1).append(next);
-                        i += 1;
-                    }
-                    case 'b' -> {
-                        sb.append(value, read, i - 1).append('\b');
-                        i += 1;
-                    }
-                    case 'f' -> {
-                        sb.append(value, read, i - 1).append('\f');
-                        i += 1;
-                    }
-                    case 'n' -> {
-                        sb.append(value, read, i - 1).append('\n');
-                        i += 1;
-                    }
-                    case 'r' -> {
-                        sb.append(value, read, i - 1).append('\r');
-                        i += 1;
-                    }
-                    case 't' -> {
-                        sb.append(value, read, i - 1).append('\t');
-                        i += 1;
-                    }
-                    case 'u' -> {
-                        sb.append(value, read, i - 1)
-                                .append(
-                                        Character.toString(
-                                                Integer.valueOf(
-                                                        value.subSequence(i + 1, i + 5).toString(),
-                                                        16)));
-                        i += 5;
-                    }
-                    default -> {
-                        // if we get here the escaped character wasn't a valid escape
-                        // TODO(markelliot): we should log something here
-                        sb.append(value, read, i + 1);
-                        i += 1;
-                    }
-                }
-                read = i;
+        int length = value.length();
+        for (int i = 0; i < length - 1; i++) {
+            if (value.charAt(i) != '\\') {
+                continue;
             }
+            char next = value.charAt(i + 1);
+            int decoded = next == 'u' ? unicodeEscape(value, i + 2) : simpleEscape(next);
+            if (decoded < 0) {
+                // keep the backslash and let the escaped character be read as usual
+                i++;
+                continue;
+            }
+            if (sb == null) {
+                sb = new StringBuilder(length);
+            }
+            sb.append(value, read, i).append((char) decoded);
+            i += next == 'u' ? 5 : 1;
+            read = i + 1;
         }
         // short-circuit if we made no replacements
-        if (read == 0) {
+        if (sb == null) {
             return value;
         }
         // we made some replacements, so add the remainder
-        sb.append(value, read, value.length());
-        // TODO(markelliot): StringBuilder#toString vs. CharSequence?
+        sb.append(value, read, length);
         return sb;
     }
 
-    public static CharSequence escape(CharSequence value) {
-        StringBuilder sb = new StringBuilder();
-        int written = 0;
+    /** Returns the character denoted by the escape {@code \escaped}, or -1 if there is none. */
+    static int simpleEscape(int escaped) {
+        return switch (escaped) {
+            case '"', '\\', '/' -> escaped;
+            case 'b' -> '\b';
+            case 'f' -> '\f';
+            case 'n' -> '\n';
+            case 'r' -> '\r';
+            case 't' -> '\t';
+            default -> -1;
+        };
+    }
 
-        for (int i = 0; i < value.length(); i++) {
-            char ch = value.charAt(i);
-            switch (ch) {
-                case '"', '\\', '/' -> {
-                    sb.append(value, written, i).append("\\").append(ch);
-                    written = i + 1;
-                }
-                case '\b' -> {
-                    sb.append(value, written, i).append("\\b");
-                    written = i + 1;
-                }
-                case '\f' -> {
-                    sb.append(value, written, i).append("\\f");
-                    written = i + 1;
-                }
-                case '\n' -> {
-                    sb.append(value, written, i).append("\\n");
-                    written = i + 1;
-                }
-                case '\r' -> {
-                    sb.append(value, written, i).append("\\r");
-                    written = i + 1;
-                }
-                case '\t' -> {
-                    sb.append(value, written, i).append("\\t");
-                    written = i + 1;
-                }
-                default -> {
-                    if (ch < 0x20) {
-                        String charCode = Integer.toHexString(ch);
-                        sb.append(value, written, i)
-                                .append("\\u")
-                                .append("0".repeat(4 - charCode.length()))
-                                .append(charCode);
-                        written = i + 1;
-                    }
-                }
+    /** Returns the value of a hexadecimal digit, or -1 if {@code unit} is not one. */
+    static int hexDigit(int unit) {
+        return unit >= 0 && unit < HEX_DIGITS.length ? HEX_DIGITS[unit] : -1;
+    }
+
+    private static int unicodeEscape(CharSequence value, int from) {
+        if (from + 4 > value.length()) {
+            return -1;
+        }
+        int code = 0;
+        for (int i = from; i < from + 4; i++) {
+            int digit = hexDigit(value.charAt(i));
+            if (digit < 0) {
+                return -1;
             }
+            code = (code << 4) | digit;
         }
-        // short-circuit if we made no replacements
-        if (written == 0) {
+        return code;
+    }
+
+    private static byte[] hexDigits() {
+        byte[] digits = new byte[128];
+        Arrays.fill(digits, (byte) -1);
+        for (int i = 0; i < 10; i++) {
+            digits['0' + i] = (byte) i;
+        }
+        for (int i = 0; i < 6; i++) {
+            digits['a' + i] = (byte) (10 + i);
+            digits['A' + i] = (byte) (10 + i);
+        }
+        return digits;
+    }
+
+    /**
+     * Returns {@code value} with the characters JSON requires (and {@code /}) escaped, or {@code
+     * value} itself if none need escaping.
+     */
+    public static CharSequence escape(CharSequence value) {
+        return escape(value, true);
+    }
+
+    /**
+     * Returns {@code value} with the characters JSON requires escaped, and {@code /} too if {@code
+     * escapeSlash} is set, or {@code value} itself if none need escaping.
+     */
+    public static CharSequence escape(CharSequence value, boolean escapeSlash) {
+        byte[] escapes = escapes(escapeSlash);
+        int length = value.length();
+        int i = skipUnescaped(value, 0, escapes);
+        // short-circuit if we need no replacements
+        if (i == length) {
             return value;
         }
+        StringBuilder sb = new StringBuilder(length + 16);
+        int written = 0;
+        while (i < length) {
+            sb.append(value, written, i);
+            char ch = value.charAt(i);
+            byte escape = escapes[ch];
+            sb.append('\\').append((char) escape);
+            if (escape == 'u') {
+                sb.append("00").append(HEX[ch >> 4]).append(HEX[ch & 0xF]);
+            }
+            written = i + 1;
+            i = skipUnescaped(value, written, escapes);
+        }
         // add remainder
-        sb.append(value, written, value.length());
-        // TODO(markelliot): StringBuilder#toString vs. CharSequence?
+        sb.append(value, written, length);
         return sb.toString();
     }
+
+    /** Returns the escape table for the provided option, see {@link #ESCAPES}. */
+    static byte[] escapes(boolean escapeSlash) {
+        return escapeSlash ? ESCAPES : ESCAPES_WITHOUT_SLASH;
+    }
+
+    /** Returns the index of the first character at or after {@code from} that must be escaped. */
+    private static int skipUnescaped(CharSequence value, int from, byte[] escapes) {
+        int length = value.length();
+        int i = from;
+        for (char ch; i < length && ((ch = value.charAt(i)) >= 0x80 || escapes[ch] == 0); i++)
+            ;
+        return i;
+    }
+
+    private static byte[] escapeTable(boolean escapeSlash) {
+        byte[] escapes = new byte[128];
+        for (int i = 0; i < 0x20; i++) {
+            escapes[i] = 'u';
+        }
+        escapes['"'] = '"';
+        escapes['\\'] = '\\';
+        escapes['\b'] = 'b';
+        escapes['\f'] = 'f';
+        escapes['\n'] = 'n';
+        escapes['\r'] = 'r';
+        escapes['\t'] = 't';
+        if (escapeSlash) {
+            escapes['/'] = '/';
+        }
+        return escapes;
+    }
 }
@@ -0,0 +1,33 @@
+package barista.serde.runtime.json;
+
+import barista.serde.runtime.parsec.ParseState;
+
+/** Consumes the punctuation between the members of JSON objects and arrays. */
+final class JsonSyntax {
+    private JsonSyntax() {}
+
+    /** Consumes a comma and the whitespace around it, returning whether there was one. */
+    static boolean separator(ParseState state) {
+        state.skipWhitespace();
+        if (state.current() != ',') {
+            return false;
+        }
+        state.next();
+        state.skipWhitespace();
+        return true;
+    }
+
+    /**
+     * Consumes the closing bracket {@code end} and any whitespace before it, recording an error and
+     * returning false if a comma or {@code end} was expected but not found.
+     */
+    static boolean close(ParseState state, char end) {
+        state.skipWhitespace();
+        if (state.current() != end) {
+            state.fail(state.markIndex(), "Expected to find ',' or '" + end + "'");
+            return false;
+        }
+        state.next();
+        return true;
+    }
+}
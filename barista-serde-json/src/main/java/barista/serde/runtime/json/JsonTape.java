@@ -0,0 +1,255 @@
+package barista.serde.runtime.json;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * An immutable, compact representation of a whole JSON document, for documents that must be fully
+ * loaded without a schema and then retained.
+ *
+ * <p>Rather than a tree of maps, lists, boxed numbers and strings, the document is held as a {@code
+ * long[]} tape of one entry per value (two for numbers, and one more to close each object or array)
+ * in document order, plus a single string holding every key and string value back to back. Each
+ * entry carries its kind in its top byte: strings point into the string arena by offset and length,
+ * an object or array's opening entry points at its closing entry so that whole subtrees are stepped
+ * over in constant time, and a number's entry is followed by the raw bits of its {@code double}
+ * value. The arena benefits from compact strings, taking a byte per character when the document's
+ * text is all Latin-1.
+ *
+ * <p>Values are read through {@link Element}s, which are small views of a position on the tape, and
+ * may be converted on demand to the maps, lists, doubles, strings, booleans and empty optionals
+ * that {@link JsonParsers#any()} would have produced. A tape is parsed with {@link
+ * JsonParsers#tape()}. Individual strings are limited to 2^24 - 1 characters.
+ */
+public final class JsonTape {
+    static final int TAG_SHIFT = 56;
+    static final long PAYLOAD_MASK = (1L << TAG_SHIFT) - 1;
+    static final int MAX_STRING_LENGTH = (1 << 24) - 1;
+
+    static final long OBJECT_START = '{';
+    static final long OBJECT_END = '}';
+    static final long ARRAY_START = '[';
+    static final long ARRAY_END = ']';
+    static final long STRING = '"';
+    static final long NUMBER = 'd';
+    static final long TRUE = 't';
+    static final long FALSE = 'f';
+    static final long NULL = 'n';
+
+    private final long[] tape;
+    private final String strings;
+
+    JsonTape(long[] tape, String strings) {
+        this.tape = tape;
+        this.strings = strings;
+    }
+
+    /** Returns the document's top-level value. */
+    public Element root() {
+        return new Element(0);
+    }
+
+    /** Returns the whole document as {@link JsonParsers#any()} would have produced it. */
+    public Object toObject() {
+        return root().toObject();
+    }
+
+    static long entry(long tag, long payload) {
+        return tag << TAG_SHIFT | payload;
+    }
+
+    static long stringEntry(int offset, int length) {
+        return entry(STRING, (long) length << 32 | offset);
+    }
+
+    private long tag(int index) {
+        return tape[index] >>> TAG_SHIFT;
+    }
+
+    private int payload(int index) {
+        return (int) (tape[index] & PAYLOAD_MASK);
+    }
+
+    private static JsonCursor.Type typeOf(long tag) {
+        return switch ((char) tag) {
+            case '{' -> JsonCursor.Type.OBJECT;
+            case '[' -> JsonCursor.Type.ARRAY;
+            case '"' -> JsonCursor.Type.STRING;
+            case 'd' -> JsonCursor.Type.NUMBER;
+            case 't', 'f' -> JsonCursor.Type.BOOLEAN;
+            default -> JsonCursor.Type.NULL;
+        };
+    }
+
+    /** Returns the index of the value following the value at {@code index}. */
+    private int after(int index) {
+        long tag = tag(index);
+        if (tag == OBJECT_START || tag == ARRAY_START) {
+            return payload(index) + 1;
+        }
+        return tag == NUMBER ? index + 2 : index + 1;
+    }
+
+    private String string(int index) {
+        int offset = (int) tape[index];
+        int length = (int) ((tape[index] & PAYLOAD_MASK) >>> 32);
+        return strings.substring(offset, offset + length);
+    }
+
+    private boolean stringEquals(int index, String value) {
+        int length = (int) ((tape[index] & PAYLOAD_MASK) >>> 32);
+        return length == value.length()
+                && strings.regionMatches((int) tape[index], value, 0, length);
+    }
+
+    /** A read-only view of one value of a {@link JsonTape}. */
+    public final class Element {
+        private final int index;
+
+        private Element(int index) {
+            this.index = index;
+        }
+
+        public JsonCursor.Type type() {
+            return typeOf(tag(index));
+        }
+
+        public boolean isNull() {
+            return tag(index) == NULL;
+        }
+
+        /** Returns this string, or throws {@link IllegalStateException} if this is not a string. */
+        public String asString() {
+            check(STRING);
+            return string(index);
+        }
+
+        /** Returns this number, or throws {@link IllegalStateException} if this is not a number. */
+        public double asDouble() {
+            check(NUMBER);
+            return Double.longBitsToDouble(tape[index + 1]);
+        }
+
+        /**
+         * Returns this boolean, or throws {@link IllegalStateException} if this is not a boolean.
+         */
+        public boolean asBoolean() {
+            long tag = tag(index);
+            if (tag != TRUE && tag != FALSE) {
+                throw new IllegalStateException("Expected BOOLEAN but found " + type());
+            }
+            return tag == TRUE;
+        }
+
+        /** Returns the number of fields of this object or elements of this array. */
+        public int size() {
+            checkContainer();
+            return payload(payload(index));
+        }
+
+        /**
+         * Returns the value of this object's field called {@code name}, found by a linear scan that
+         * steps over the values of other fields without visiting them. As with {@link
+         * JsonParsers#any()}, the last of any duplicate fields wins.
+         */
+        public Optional<Element> get(String name) {
+            check(OBJECT_START);
+            int end = payload(index);
+            Element found = null;
+            for (int key = index + 1; key < end; key = after(key + 1)) {
+                if (stringEquals(key, name)) {
+                    found = new Element(key + 1);
+                }
+            }
+            return Optional.ofNullable(found);
+        }
+
+        /** Returns the element of this array at position {@code position}. */
+        public Element get(int position) {
+            check(ARRAY_START);
+            int end = payload(index);
+            int element = index + 1;
+            for (int i = 0; i < position && element < end; i++) {
+                element = after(element);
+            }
+            if (position < 0 || element >= end) {
+                throw new IndexOutOfBoundsException(
+                        "Index " + position + " out of bounds for length " + size());
+            }
+            return new Element(element);
+        }
+
+        /** Returns the elements of this array. */
+        public List<Element> elements() {
+            check(ARRAY_START);
+            int end = payload(index);
+            List<Element> elements = new ArrayList<>(payload(end));
+            for (int element = index + 1; element < end; element = after(element)) {
+                elements.add(new Element(element));
+            }
+            return Collections.unmodifiableList(elements);
+        }
+
+        /**
+         * Returns the fields of this object in document order, resolving duplicates as {@link
+         * #get(String)} does.
+         */
+        public Map<String, Element> fields() {
+            check(OBJECT_START);
+            int end = payload(index);
+            Map<String, Element> fields = new LinkedHashMap<>();
+            for (int key = index + 1; key < end; key = after(key + 1)) {
+                fields.put(string(key), new Element(key + 1));
+            }
+            return Collections.unmodifiableMap(fields);
+        }
+
+        /** Returns this value as {@link JsonParsers#any()} would have produced it. */
+        public Object toObject() {
+            return switch (type()) {
+                case OBJECT -> {
+                    int end = payload(index);
+                    Map<String, Object> map = new LinkedHashMap<>();
+                    for (int key = index + 1; key < end; key = after(key + 1)) {
+                        map.put(string(key), new Element(key + 1).toObject());
+                    }
+                    yield map;
+                }
+                case ARRAY -> {
+                    int end = payload(index);
+                    List<Object> list = new ArrayList<>(payload(end));
+                    for (int element = index + 1; element < end; element = after(element)) {
+                        list.add(new Element(element).toObject());
+                    }
+                    yield list;
+                }
+                case STRING -> string(index);
+                case NUMBER -> asDouble();
+                case BOOLEAN -> asBoolean();
+                case NULL -> Optional.empty();
+            };
+        }
+
+        private void check(long tag) {
+            if (tag(index) != tag) {
+                throw new IllegalStateException("Expected " + typeOf(tag) + " but found " + type());
+            }
+        }
+
+        private void checkContainer() {
+            long tag = tag(index);
+            if (tag != OBJECT_START && tag != ARRAY_START) {
+                throw new IllegalStateException("Expected OBJECT or ARRAY but found " + type());
+            }
+        }
+
+        @Override
+        public String toString() {
+            return String.valueOf(toObject());
+        }
+    }
+}
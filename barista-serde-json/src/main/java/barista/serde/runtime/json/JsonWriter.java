@@ -0,0 +1,524 @@
+package barista.serde.runtime.json;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Appends UTF-8 encoded JSON straight into a single growable buffer, so that nested objects and
+ * collections are written in place rather than serialized separately and concatenated, and so the
+ * result can be handed to byte-oriented sinks without a second encoding pass.
+ *
+ * <p>Writers from {@link #recycled()} borrow their buffer from a shared pool and return it on
+ * {@link #close()}, so that serialization in steady state allocates only its result. Writers from
+ * {@link #streaming(OutputStream)} do the same, but write their buffer out to a sink whenever it
+ * fills, so that documents of any size are written in constant memory.
+ *
+ * <p>Separators are managed by the writer: values and names that follow a value in the same object
+ * or array are preceded by a comma. The writer does not otherwise validate the document's
+ * structure.
+ */
+public final class JsonWriter implements AutoCloseable {
+    private static final int DEFAULT_CAPACITY = 256;
+    private static final int STREAMING_CAPACITY = 32 << 10;
+    private static final byte[] NULL = ascii("null");
+    private static final byte[] TRUE = ascii("true");
+    private static final byte[] FALSE = ascii("false");
+
+    /** See {@link JsonStrings#escapes}. */
+    private final byte[] escapes;
+
+    /** Lends this writer's buffers, if it was created by {@link #recycled()}. */
+    private final BufferRecycler recycler;
+
+    /** Receives the buffer's contents whenever it fills, if this is a streaming writer. */
+    private final OutputStream sink;
+
+    private byte[] buffer;
+    private int size;
+    /** Whether the next value or name follows a value and must be separated by a comma. */
+    private boolean separate;
+
+    public JsonWriter() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public JsonWriter(int initialCapacity) {
+        this(initialCapacity, true);
+    }
+
+    /**
+     * Creates a writer that escapes {@code /} in strings only if {@code escapeSlash} is set. JSON
+     * allows but does not require the escape, which inflates URL-heavy documents.
+     *
+     * <p>The initial buffer is exactly {@code initialCapacity} bytes; a writer sized with a
+     * precomputed length never resizes, and {@link #toByteArray()} returns its buffer.
+     */
+    public JsonWriter(int initialCapacity, boolean escapeSlash) {
+        this(null, new byte[initialCapacity], escapeSlash);
+    }
+
+    private JsonWriter(BufferRecycler recycler, byte[] buffer, boolean escapeSlash) {
+        this(recycler, buffer, JsonStrings.escapes(escapeSlash));
+    }
+
+    private JsonWriter(BufferRecycler recycler, byte[] buffer, byte[] escapes) {
+        this(recycler, buffer, escapes, null);
+    }
+
+    private JsonWriter(BufferRecycler recycler, byte[] buffer, byte[] escapes, OutputStream sink) {
+        this.recycler = recycler;
+        this.buffer = buffer;
+        this.escapes = escapes;
+        this.sink = sink;
+    }
+
+    /**
+     * Returns a writer whose buffers are borrowed from a shared pool; callers must {@link #close()}
+     * it, typically with try-with-resources, once they have copied out the result.
+     */
+    public static JsonWriter recycled() {
+        return recycled(true);
+    }
+
+    /** As {@link #recycled()}, escaping {@code /} only if {@code escapeSlash} is set. */
+    public static JsonWriter recycled(boolean escapeSlash) {
+        BufferRecycler recycler = BufferRecycler.SHARED;
+        return new JsonWriter(recycler, recycler.acquire(DEFAULT_CAPACITY), escapeSlash);
+    }
+
+    /**
+     * Returns a writer that borrows a buffer from a shared pool and writes it to {@code sink}
+     * whenever it fills, and on {@link #flush()} and {@link #close()}. Callers must close it, which
+     * does not close {@code sink}. Failures to write to {@code sink} are thrown as {@link
+     * UncheckedIOException}.
+     */
+    public static JsonWriter streaming(OutputStream sink) {
+        return streaming(sink, true);
+    }
+
+    /**
+     * As {@link #streaming(OutputStream)}, escaping {@code /} only if {@code escapeSlash} is set.
+     */
+    public static JsonWriter streaming(OutputStream sink, boolean escapeSlash) {
+        BufferRecycler recycler = BufferRecycler.SHARED;
+        return new JsonWriter(
+                recycler,
+                recycler.acquire(STREAMING_CAPACITY),
+                JsonStrings.escapes(escapeSlash),
+                Objects.requireNonNull(sink));
+    }
+
+    /**
+     * Returns a recycled writer with this writer's options, for writing part of this writer's
+     * document elsewhere, such as on another thread, before it is spliced in with {@link
+     * #appendValues(JsonWriter)}.
+     */
+    JsonWriter sibling() {
+        BufferRecycler recycler = BufferRecycler.SHARED;
+        return new JsonWriter(recycler, recycler.acquire(DEFAULT_CAPACITY), escapes);
+    }
+
+    /**
+     * Writes the comma-separated values written to {@code values}, which must have been created
+     * with {@link #sibling()} and hold at least one value, as if they had been written here.
+     */
+    void appendValues(JsonWriter values) {
+        separator();
+        ensureCapacity(values.size);
+        System.arraycopy(values.buffer, 0, buffer, size, values.size);
+        size += values.size;
+    }
+
+    /**
+     * Returns the UTF-8 encoding of the object key {@code name}, quoted and followed by a colon,
+     * for use with {@link #name(byte[])}.
+     */
+    public static byte[] encodeName(String name) {
+        return new JsonWriter(name.length() + 3).name(name).toByteArray();
+    }
+
+    public JsonWriter beginObject() {
+        separator();
+        append('{');
+        separate = false;
+        return this;
+    }
+
+    public JsonWriter endObject() {
+        append('}');
+        separate = true;
+        return this;
+    }
+
+    public JsonWriter beginArray() {
+        separator();
+        append('[');
+        separate = false;
+        return this;
+    }
+
+    public JsonWriter endArray() {
+        append(']');
+        separate = true;
+        return this;
+    }
+
+    /** Writes a quoted object key and the following colon. */
+    public JsonWriter name(String name) {
+        value(name);
+        return nameSeparator();
+    }
+
+    /** Writes an object key and colon previously encoded with {@link #encodeName(String)}. */
+    public JsonWriter name(byte[] encodedName) {
+        separator();
+        append(encodedName);
+        separate = false;
+        return this;
+    }
+
+    /**
+     * Writes the colon between an object key, written as a value, and its value. Most callers
+     * should prefer {@link #name(String)}.
+     */
+    public JsonWriter nameSeparator() {
+        append(':');
+        separate = false;
+        return this;
+    }
+
+    public JsonWriter nullValue() {
+        separator();
+        append(NULL);
+        return this;
+    }
+
+    public JsonWriter value(boolean value) {
+        separator();
+        append(value ? TRUE : FALSE);
+        return this;
+    }
+
+    /** Writes {@code value} as a single-character string. */
+    public JsonWriter value(char value) {
+        return value(String.valueOf(value));
+    }
+
+    public JsonWriter value(long value) {
+        separator();
+        ensureCapacity(Digits.MAX_LONG_LENGTH);
+        size = Digits.writeLong(value, buffer, size);
+        return this;
+    }
+
+    /** Writes {@code value} as a quoted decimal string, as JSON requires of numeric object keys. */
+    public JsonWriter quotedValue(long value) {
+        separator();
+        ensureCapacity(Digits.MAX_LONG_LENGTH + 2);
+        buffer[size++] = '"';
+        size = Digits.writeLong(value, buffer, size);
+        buffer[size++] = '"';
+        return this;
+    }
+
+    /**
+     * Writes the shortest decimal that round-trips, with the same digits as {@link Float#toString}.
+     */
+    public JsonWriter value(float value) {
+        separator();
+        ensureCapacity(Schubfach.MAX_FLOAT_LENGTH);
+        size = Schubfach.writeFloat(value, buffer, size);
+        return this;
+    }
+
+    /**
+     * Writes the shortest decimal that round-trips, with the same digits as {@link
+     * Double#toString}.
+     */
+    public JsonWriter value(double value) {
+        separator();
+        ensureCapacity(Schubfach.MAX_DOUBLE_LENGTH);
+        size = Schubfach.writeDouble(value, buffer, size);
+        return this;
+    }
+
+    /** Writes {@code value} as a quoted, escaped string, or {@code null}. */
+    public JsonWriter value(String value) {
+        if (value == null) {
+            return nullValue();
+        }
+        separator();
+        append('"');
+        int length = value.length();
+        int i = 0;
+        while (i < length) {
+            // copy the run of ASCII characters that need no escaping directly, one byte each
+            ensureCapacity(length - i);
+            byte[] escapes = this.escapes;
+            int pos = size;
+            for (char ch; i < length && (ch = value.charAt(i)) < 0x80 && escapes[ch] == 0; i++) {
+                buffer[pos++] = (byte) ch;
+            }
+            size = pos;
+            if (i < length) {
+                i = appendSpecial(value, i);
+            }
+        }
+        append('"');
+        return this;
+    }
+
+    /** Writes {@code json}, which must be a single valid JSON value, verbatim. */
+    public JsonWriter rawValue(JsonCharSeq json) {
+        separator();
+        int length = json.length();
+        ensureCapacity(length);
+        for (int i = 0; i < length; ) {
+            char ch = json.charAt(i);
+            if (ch < 0x80) {
+                append((byte) ch);
+                i++;
+            } else {
+                i = appendUtf8(json, i);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Writes {@code json}, the UTF-8 encoding of a single valid JSON value, verbatim. The array is
+     * copied and not retained.
+     */
+    public JsonWriter rawValue(byte[] json) {
+        separator();
+        append(json);
+        return this;
+    }
+
+    /**
+     * Returns whether this writer escapes {@code /} in strings, so that JSON written elsewhere can
+     * be spliced in with {@link #rawValue(byte[])} only if it was written the same way.
+     */
+    public boolean escapesSlash() {
+        return escapes == JsonStrings.escapes(true);
+    }
+
+    /**
+     * Returns the number of bytes written so far, or for streaming writers, the number written
+     * since the buffer was last written to the sink. The same applies to the methods that follow.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the UTF-8 encoded JSON written so far, which is the writer's own buffer if it is
+     * exactly full (any further writes would move to a new buffer) and otherwise a copy.
+     */
+    public byte[] toByteArray() {
+        if (size == buffer.length && recycler == null) {
+            return buffer;
+        }
+        return Arrays.copyOf(buffer, size);
+    }
+
+    /** Puts the UTF-8 encoded JSON written so far into {@code target}. */
+    public void writeTo(ByteBuffer target) {
+        target.put(buffer, 0, size);
+    }
+
+    /** Writes the UTF-8 encoded JSON written so far to {@code out}. */
+    public void writeTo(OutputStream out) throws IOException {
+        out.write(buffer, 0, size);
+    }
+
+    /** Returns the JSON written so far. */
+    public JsonCharSeq toJson() {
+        return new JsonCharSeq(toString());
+    }
+
+    @Override
+    public String toString() {
+        return new String(buffer, 0, size, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Writes the buffered output of a streaming writer to its sink and flushes the sink. Does
+     * nothing for other writers.
+     */
+    public void flush() {
+        if (sink == null) {
+            return;
+        }
+        drain();
+        try {
+            sink.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Returns a recycled writer's buffer to the pool, first writing any buffered output of a
+     * streaming writer to its sink; the writer must not be used afterwards. Does nothing for other
+     * writers.
+     */
+    @Override
+    public void close() {
+        if (sink != null && buffer != null) {
+            drain();
+        }
+        if (recycler != null && buffer != null) {
+            recycler.release(buffer);
+            buffer = null;
+        }
+    }
+
+    /**
+     * Returns the number of bytes {@link #value(String)} writes for {@code value} with the default
+     * escaping of {@code /}.
+     */
+    static int stringLength(String value) {
+        if (value == null) {
+            return NULL.length;
+        }
+        byte[] escapes = JsonStrings.escapes(true);
+        int length = value.length();
+        int bytes = length + 2;
+        for (int i = 0; i < length; i++) {
+            char ch = value.charAt(i);
+            if (ch < 0x80) {
+                byte escape = escapes[ch];
+                if (escape != 0) {
+                    bytes += escape == 'u' ? 5 : 1;
+                }
+            } else if (ch < 0x800) {
+                bytes += 1;
+            } else if (!Character.isSurrogate(ch)) {
+                bytes += 2;
+            } else if (Character.isHighSurrogate(ch)
+                    && i + 1 < length
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                // four bytes for the pair
+                bytes += 2;
+                i++;
+            }
+        }
+        return bytes;
+    }
+
+    private void separator() {
+        if (separate) {
+            append(',');
+        }
+        separate = true;
+    }
+
+    /**
+     * Appends the escaped or encoded form of the character at {@code index}, returning the next.
+     */
+    private int appendSpecial(String value, int index) {
+        char ch = value.charAt(index);
+        if (ch >= 0x80) {
+            return appendUtf8(value, index);
+        }
+        byte escape = escapes[ch];
+        ensureCapacity(6);
+        buffer[size++] = '\\';
+        buffer[size++] = escape;
+        if (escape == 'u') {
+            buffer[size++] = '0';
+            buffer[size++] = '0';
+            buffer[size++] = (byte) JsonStrings.HEX[ch >> 4];
+            buffer[size++] = (byte) JsonStrings.HEX[ch & 0xF];
+        }
+        return index + 1;
+    }
+
+    /**
+     * Appends the UTF-8 encoding of the non-ASCII character (or surrogate pair) at {@code index},
+     * returning the index that follows it. Unpaired surrogates are replaced with {@code '?'}, as
+     * {@link String#getBytes} does.
+     */
+    private int appendUtf8(CharSequence chars, int index) {
+        ensureCapacity(4);
+        char ch = chars.charAt(index);
+        if (ch < 0x800) {
+            buffer[size++] = (byte) (0xC0 | (ch >> 6));
+            buffer[size++] = (byte) (0x80 | (ch & 0x3F));
+        } else if (!Character.isSurrogate(ch)) {
+            buffer[size++] = (byte) (0xE0 | (ch >> 12));
+            buffer[size++] = (byte) (0x80 | ((ch >> 6) & 0x3F));
+            buffer[size++] = (byte) (0x80 | (ch & 0x3F));
+        } else if (Character.isHighSurrogate(ch)
+                && index + 1 < chars.length()
+                && Character.isLowSurrogate(chars.charAt(index + 1))) {
+            int codePoint = Character.toCodePoint(ch, chars.charAt(index + 1));
+            buffer[size++] = (byte) (0xF0 | (codePoint >> 18));
+            buffer[size++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+            buffer[size++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+            buffer[size++] = (byte) (0x80 | (codePoint & 0x3F));
+            return index + 2;
+        } else {
+            buffer[size++] = '?';
+        }
+        return index + 1;
+    }
+
+    private void append(char ch) {
+        append((byte) ch);
+    }
+
+    private void append(byte unit) {
+        ensureCapacity(1);
+        buffer[size++] = unit;
+    }
+
+    private void append(byte[] bytes) {
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, size, bytes.length);
+        size += bytes.length;
+    }
+
+    private void ensureCapacity(int additional) {
+        if (size + additional > buffer.length) {
+            if (sink != null) {
+                drain();
+                if (additional <= buffer.length) {
+                    return;
+                }
+            }
+            grow(Math.max(buffer.length * 2, size + additional));
+        }
+    }
+
+    /** Writes the buffered output of a streaming writer to its sink and empties the buffer. */
+    private void drain() {
+        try {
+            sink.write(buffer, 0, size);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        size = 0;
+    }
+
+    private void grow(int capacity) {
+        if (recycler == null) {
+            buffer = Arrays.copyOf(buffer, capacity);
+            return;
+        }
+        byte[] larger = recycler.acquire(capacity);
+        System.arraycopy(buffer, 0, larger, 0, size);
+        recycler.release(buffer);
+        buffer = larger;
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+}
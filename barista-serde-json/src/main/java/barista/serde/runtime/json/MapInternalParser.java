@@ -1,16 +1,15 @@
 package barista.serde.runtime.json;
 
-import barista.serde.runtime.parsec.Empty;
-import barista.serde.runtime.parsec.ParseError;
+import barista.serde.runtime.parsec.DirectParser;
 import barista.serde.runtime.parsec.ParseState;
 import barista.serde.runtime.parsec.Parser;
-import io.github.markelliot.result.Result;
+import barista.serde.runtime.parsec.Parsers;
 import java.util.Map;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
-final class MapInternalParser<K, V> implements Parser<Map<K, V>> {
-    private final Function<String, K> keyFn;
+final class MapInternalParser<K, V> implements DirectParser<Map<K, V>> {
+    private final DirectParser<K> keyParser;
     private final Function<K, Parser<V>> itemParser;
     private final Supplier<Map<K, V>> mapFactory;
 
@@ -18,33 +17,40 @@ final class MapInternalParser<K, V> implements Parser<Map<K, V>> {
             Function<String, K> keyFn,
             Function<K, Parser<V>> itemParser,
             Supplier<Map<K, V>> mapFactory) {
-        this.keyFn = keyFn;
+        this(stringKey(keyFn), itemParser, mapFactory);
+    }
+
+    /** Creates a parser that reads each key, including its quotes, with {@code keyParser}. */
+    MapInternalParser(
+            DirectParser<K> keyParser,
+            Function<K, Parser<V>> itemParser,
+            Supplier<Map<K, V>> mapFactory) {
+        this.keyParser = keyParser;
         this.itemParser = itemParser;
         this.mapFactory = mapFactory;
     }
 
     @Override
-    public Result<Map<K, V>, ParseError> parse(ParseState state) {
+    public Map<K, V> parseDirect(ParseState state) {
         Map<K, V> map = mapFactory.get();
         while (!state.isEndOfStream()) {
             state.skipWhitespace();
-            Result<K, ParseError> key = JsonParsers.string().parse(state).mapResult(keyFn);
-            if (key.isError()) {
-                return key.coerce();
+            K realKey = keyParser.parseDirect(state);
+            if (state.hasError()) {
+                return null;
             }
 
-            Result<Empty, ParseError> sep = JsonParsers.keyValueSeparator().parse(state);
-            if (sep.isError()) {
-                return sep.coerce();
+            KeyValueSeparatorParser.INSTANCE.parseDirect(state);
+            if (state.hasError()) {
+                return null;
             }
 
-            K realKey = key.unwrap();
-            Result<V, ParseError> item = itemParser.apply(realKey).parse(state);
-            if (item.isError()) {
-                return item.coerce();
+            V item = Parsers.direct(itemParser.apply(realKey)).parseDirect(state);
+            if (state.hasError()) {
+                return null;
             }
 
-            map.put(realKey, item.unwrap());
+            map.put(realKey, item);
 
             // consume trailing whitespace
             state.skipWhitespace();
@@ -54,6 +60,13 @@ final class MapInternalParser<K, V> implements Parser<Map<K, V>> {
                 break;
             }
         }
-        return Result.ok(map);
+        return map;
+    }
+
+    private static <K> DirectParser<K> stringKey(Function<String, K> keyFn) {
+        return state -> {
+            String key = QuotedStringParser.INSTANCE.parseDirect(state);
+            return state.hasError() ? null : keyFn.apply(key);
+        };
     }
 }
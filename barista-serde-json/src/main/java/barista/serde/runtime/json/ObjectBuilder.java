@@ -0,0 +1,26 @@
+package barista.serde.runtime.json;
+
+import barista.serde.runtime.parsec.ParseState;
+
+/**
+ * Accumulates the fields of a single JSON object into typed slots and then creates the desired
+ * type, see {@link JsonParsers#object(FieldNames, java.util.function.Supplier)}.
+ *
+ * <p>Builders follow the {@link barista.serde.runtime.parsec.DirectParser} contract: failures are
+ * recorded with {@link ParseState#fail(int, String)} rather than returned.
+ */
+public interface ObjectBuilder<T> {
+    /**
+     * Parses the value of the field at index {@code field} of the parser's {@link FieldNames} from
+     * {@code state}, which is positioned at the start of the value. Keys that do not name a field
+     * are reported as {@link FieldNames#UNKNOWN}, and implementations must consume their values
+     * too.
+     */
+    void field(int field, ParseState state);
+
+    /**
+     * Creates the resulting value once all fields have been parsed; {@code state} is positioned at
+     * the object's closing brace.
+     */
+    T build(ParseState state);
+}
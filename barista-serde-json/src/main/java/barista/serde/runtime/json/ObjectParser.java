@@ -0,0 +1,69 @@
+package barista.serde.runtime.json;
+
+import barista.serde.runtime.parsec.DirectParser;
+import barista.serde.runtime.parsec.ParseState;
+import barista.serde.runtime.parsec.Parsers;
+import java.util.function.Supplier;
+
+final class ObjectParser<T> implements DirectParser<T> {
+    private static final DirectParser<Character> OPEN = Parsers.direct(Parsers.expect('{'));
+    private static final DirectParser<Character> CLOSE = Parsers.direct(Parsers.expect('}'));
+
+    private final FieldNames fields;
+    private final Supplier<? extends ObjectBuilder<T>> builderFactory;
+
+    ObjectParser(FieldNames fields, Supplier<? extends ObjectBuilder<T>> builderFactory) {
+        this.fields = fields;
+        this.builderFactory = builderFactory;
+    }
+
+    @Override
+    public T parseDirect(ParseState state) {
+        OPEN.parseDirect(state);
+        if (state.hasError()) {
+            return null;
+        }
+
+        ObjectBuilder<T> builder = builderFactory.get();
+        state.skipWhitespace();
+        if (state.current() != '}') {
+            while (!state.isEndOfStream()) {
+                state.skipWhitespace();
+                int field = fields.match(state);
+                if (field == FieldNames.DECODE) {
+                    String key = QuotedStringParser.INSTANCE.parseDirect(state);
+                    if (state.hasError()) {
+                        return null;
+                    }
+                    field = fields.indexOf(key);
+                }
+
+                KeyValueSeparatorParser.INSTANCE.parseDirect(state);
+                if (state.hasError()) {
+                    return null;
+                }
+
+                builder.field(field, state);
+                if (state.hasError()) {
+                    return null;
+                }
+
+                state.skipWhitespace();
+                if (state.current() == ',') {
+                    state.next(); // consume ','
+                } else {
+                    break;
+                }
+            }
+        }
+
+        state.skipWhitespace();
+        if (state.current() != '}') {
+            CLOSE.parseDirect(state);
+            return null;
+        }
+        T result = builder.build(state);
+        state.next(); // consume '}'
+        return result;
+    }
+}
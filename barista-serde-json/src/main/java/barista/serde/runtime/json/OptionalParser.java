@@ -1,10 +1,9 @@
 package barista.serde.runtime.json;
 
-import barista.serde.runtime.parsec.Empty;
-import barista.serde.runtime.parsec.ParseError;
+import barista.serde.runtime.parsec.DirectParser;
 import barista.serde.runtime.parsec.ParseState;
 import barista.serde.runtime.parsec.Parser;
-import io.github.markelliot.result.Result;
+import barista.serde.runtime.parsec.Parsers;
 import java.util.Optional;
 import java.util.OptionalDouble;
 import java.util.OptionalInt;
@@ -12,7 +11,7 @@ import java.util.OptionalLong;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
-final class OptionalParser<T, U> implements Parser<U> {
+final class OptionalParser<T, U> implements DirectParser<U> {
     public static final Parser<OptionalInt> INT =
             new OptionalParser<>(JsonParsers.integerParser(), OptionalInt::of, OptionalInt::empty);
     public static final Parser<OptionalLong> LONG =
@@ -25,26 +24,24 @@ final class OptionalParser<T, U> implements Parser<U> {
         return new OptionalParser<>(parser, Optional::of, Optional::empty);
     }
 
-    private final Parser<T> parser;
+    private final DirectParser<T> parser;
     private final Function<T, U> fn;
     private final Supplier<U> defaultValue;
 
     private OptionalParser(Parser<T> parser, Function<T, U> fn, Supplier<U> defaultValue) {
-        this.parser = parser;
+        this.parser = Parsers.direct(parser);
         this.fn = fn;
         this.defaultValue = defaultValue;
     }
 
     @Override
-    public Result<U, ParseError> parse(ParseState state) {
+    public U parseDirect(ParseState state) {
         if (state.current() != 'n') {
-            return parser.parse(state).mapResult(fn);
+            T value = parser.parseDirect(state);
+            return state.hasError() ? null : fn.apply(value);
         } else {
-            Result<Empty, ParseError> nullResult = JsonParsers.nullParser().parse(state);
-            if (nullResult.isError()) {
-                return nullResult.coerce();
-            }
-            return Result.ok(defaultValue.get());
+            NullParser.INSTANCE.parseDirect(state);
+            return state.hasError() ? null : defaultValue.get();
         }
     }
 }
@@ -0,0 +1,133 @@
+package barista.serde.runtime.json;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+
+/**
+ * Serializes large collections on the common {@link ForkJoinPool}: the items are split into
+ * contiguous chunks, each written into its own recycled {@link JsonWriter}, and the chunks are then
+ * copied into the destination writer in order.
+ *
+ * <p>Chunks never throw: the first failure is recorded and rethrown once every chunk has finished,
+ * since until then a chunk's buffer may still be written to and must not return to the pool.
+ */
+final class ParallelSerializer {
+    /** The fewest items worth handing to another thread. */
+    private static final int MIN_CHUNK_SIZE = 256;
+
+    /** Chunks per worker, so that threads finishing early can steal remaining work. */
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private ParallelSerializer() {}
+
+    static <T> void serialize(
+            Collection<T> collection, BiConsumer<T, JsonWriter> serializer, JsonWriter writer) {
+        List<T> items =
+                collection instanceof List<T> list && collection instanceof RandomAccess
+                        ? list
+                        : new ArrayList<>(collection);
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        int chunkCount = pool.getParallelism() * CHUNKS_PER_THREAD;
+        int chunkSize = Math.max(MIN_CHUNK_SIZE, (items.size() + chunkCount - 1) / chunkCount);
+        JsonWriter[] chunks = new JsonWriter[(items.size() + chunkSize - 1) / chunkSize];
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        try {
+            pool.invoke(
+                    new Chunks<>(
+                            items,
+                            serializer,
+                            writer,
+                            chunks,
+                            chunkSize,
+                            failure,
+                            0,
+                            chunks.length));
+            Throwable thrown = failure.get();
+            if (thrown instanceof RuntimeException e) {
+                throw e;
+            }
+            if (thrown instanceof Error e) {
+                throw e;
+            }
+            if (thrown != null) {
+                throw new IllegalStateException("Failed to serialize collection", thrown);
+            }
+            writer.beginArray();
+            for (JsonWriter chunk : chunks) {
+                writer.appendValues(chunk);
+            }
+            writer.endArray();
+        } finally {
+            for (JsonWriter chunk : chunks) {
+                if (chunk != null) {
+                    chunk.close();
+                }
+            }
+        }
+    }
+
+    /** Writes the chunks in {@code [from, to)}, splitting the range in half until it is one. */
+    private static final class Chunks<T> extends RecursiveAction {
+        private final List<T> items;
+        private final BiConsumer<T, JsonWriter> serializer;
+        private final JsonWriter destination;
+        private final JsonWriter[] chunks;
+        private final int chunkSize;
+        private final AtomicReference<Throwable> failure;
+        private final int from;
+        private final int to;
+
+        Chunks(
+                List<T> items,
+                BiConsumer<T, JsonWriter> serializer,
+                JsonWriter destination,
+                JsonWriter[] chunks,
+                int chunkSize,
+                AtomicReference<Throwable> failure,
+                int from,
+                int to) {
+            this.items = items;
+            this.serializer = serializer;
+            this.destination = destination;
+            this.chunks = chunks;
+            this.chunkSize = chunkSize;
+            this.failure = failure;
+            this.from = from;
+            this.to = to;
+        }
+
+        private Chunks<T> range(int rangeFrom, int rangeTo) {
+            return new Chunks<>(
+                    items, serializer, destination, chunks, chunkSize, failure, rangeFrom, rangeTo);
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int mid = (from + to) >>> 1;
+                invokeAll(range(from, mid), range(mid, to));
+                return;
+            }
+            if (failure.get() != null) {
+                // another chunk failed, so this one would be discarded
+                return;
+            }
+            try {
+                JsonWriter chunk = destination.sibling();
+                chunks[from] = chunk;
+                int end = Math.min(items.size(), (from + 1) * chunkSize);
+                for (int i = from * chunkSize; i < end; i++) {
+                    serializer.accept(items.get(i), chunk);
+                }
+            } catch (Throwable t) {
+                failure.compareAndSet(null, t);
+            }
+        }
+    }
+}
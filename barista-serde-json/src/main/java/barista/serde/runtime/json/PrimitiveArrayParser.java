@@ -0,0 +1,154 @@
+package barista.serde.runtime.json;
+
+import barista.serde.runtime.parsec.DirectParser;
+import barista.serde.runtime.parsec.ParseState;
+import barista.serde.runtime.parsec.Parser;
+import java.util.Arrays;
+
+/**
+ * Parses JSON arrays of numbers or booleans straight into primitive arrays, growing a single array
+ * as elements are read rather than boxing each element into a collection.
+ */
+final class PrimitiveArrayParser {
+    public static final Parser<int[]> INT = (DirectParser<int[]>) PrimitiveArrayParser::parseInts;
+    public static final Parser<long[]> LONG =
+            (DirectParser<long[]>) PrimitiveArrayParser::parseLongs;
+    public static final Parser<float[]> FLOAT =
+            (DirectParser<float[]>) PrimitiveArrayParser::parseFloats;
+    public static final Parser<double[]> DOUBLE =
+            (DirectParser<double[]>) PrimitiveArrayParser::parseDoubles;
+    public static final Parser<boolean[]> BOOLEAN =
+            (DirectParser<boolean[]>) PrimitiveArrayParser::parseBooleans;
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private PrimitiveArrayParser() {}
+
+    static int[] parseInts(ParseState state) {
+        if (!open(state)) {
+            return null;
+        }
+        int[] values = new int[INITIAL_CAPACITY];
+        int count = 0;
+        if (state.current() != ']') {
+            do {
+                int value = WholeNumberParser.parseInt(state);
+                if (state.hasError()) {
+                    return null;
+                }
+                if (count == values.length) {
+                    values = Arrays.copyOf(values, count * 2);
+                }
+                values[count++] = value;
+            } while (JsonSyntax.separator(state));
+        }
+        return close(state) ? Arrays.copyOf(values, count) : null;
+    }
+
+    static long[] parseLongs(ParseState state) {
+        if (!open(state)) {
+            return null;
+        }
+        long[] values = new long[INITIAL_CAPACITY];
+        int count = 0;
+        if (state.current() != ']') {
+            do {
+                long value = WholeNumberParser.parseLong(state);
+                if (state.hasError()) {
+                    return null;
+                }
+                if (count == values.length) {
+                    values = Arrays.copyOf(values, count * 2);
+                }
+                values[count++] = value;
+            } while (JsonSyntax.separator(state));
+        }
+        return close(state) ? Arrays.copyOf(values, count) : null;
+    }
+
+    static float[] parseFloats(ParseState state) {
+        if (!open(state)) {
+            return null;
+        }
+        float[] values = new float[INITIAL_CAPACITY];
+        int count = 0;
+        if (state.current() != ']') {
+            do {
+                float value = FloatingPointParser.parseFloat(state);
+                if (state.hasError()) {
+                    return null;
+                }
+                if (count == values.length) {
+                    values = Arrays.copyOf(values, count * 2);
+                }
+                values[count++] = value;
+            } while (JsonSyntax.separator(state));
+        }
+        return close(state) ? Arrays.copyOf(values, count) : null;
+    }
+
+    static double[] parseDoubles(ParseState state) {
+        if (!open(state)) {
+            return null;
+        }
+        double[] values = new double[INITIAL_CAPACITY];
+        int count = 0;
+        if (state.current() != ']') {
+            do {
+                double value = FloatingPointParser.parseDouble(state);
+                if (state.hasError()) {
+                    return null;
+                }
+                if (count == values.length) {
+                    values = Arrays.copyOf(values, count * 2);
+                }
+                values[count++] = value;
+            } while (JsonSyntax.separator(state));
+        }
+        return close(state) ? Arrays.copyOf(values, count) : null;
+    }
+
+    static boolean[] parseBooleans(ParseState state) {
+        if (!open(state)) {
+            return null;
+        }
+        boolean[] values = new boolean[INITIAL_CAPACITY];
+        int count = 0;
+        if (state.current() != ']') {
+            do {
+                boolean value = BooleanParser.parseBoolean(state);
+                if (state.hasError()) {
+                    return null;
+                }
+                if (count == values.length) {
+                    values = Arrays.copyOf(values, count * 2);
+                }
+                values[count++] = value;
+            } while (JsonSyntax.separator(state));
+        }
+        return close(state) ? Arrays.copyOf(values, count) : null;
+    }
+
+    /** Consumes the opening bracket and any whitespace that follows it. */
+    private static boolean open(ParseState state) {
+        state.skipWhitespace();
+        if (state.current() != '[') {
+            state.fail(state.markIndex(), "Expected to find '['");
+            return false;
+        }
+        state.next();
+        state.skipWhitespace();
+        return true;
+    }
+
+    /** Consumes the closing bracket, reporting a missing one as {@code collection()} parsers do. */
+    private static boolean close(ParseState state) {
+        state.skipWhitespace();
+        if (state.current() != ']') {
+            state.fail(state.markIndex(), "Expected to find ']'");
+            return false;
+        }
+        state.next();
+        return true;
+    }
+}
@@ -0,0 +1,130 @@
+package barista.serde.runtime.json;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Selects the parts of a record to deserialize, as a set of dotted field paths such as {@code
+ * primaryView.url} or {@code jobs[].name}, where {@code []} marks the elements of an array and may
+ * be omitted.
+ *
+ * <p>Generated parsers derived with a projection, through {@code XJsonSerDe.parser(Projection)},
+ * parse only the selected fields and skip all others without building them, leaving their
+ * components null, empty or zero. A path ending at a field selects its whole value, as does a path
+ * continuing into a value that is not itself a generated record, such as a map.
+ */
+public final class Projection {
+    private static final Projection ALL = new Projection(null);
+    private static final Projection NONE = new Projection(Map.of());
+
+    /** The projection of each selected field, or null when every field is selected in full. */
+    private final Map<String, Projection> fields;
+
+    private Projection(Map<String, Projection> fields) {
+        this.fields = fields;
+    }
+
+    /** Returns the projection that selects every field. */
+    public static Projection all() {
+        return ALL;
+    }
+
+    /** Returns the projection selecting {@code paths}. */
+    public static Projection of(String... paths) {
+        return of(Arrays.asList(paths));
+    }
+
+    /** Returns the projection selecting {@code paths}. */
+    public static Projection of(Collection<String> paths) {
+        Set<String> whole = new LinkedHashSet<>();
+        Map<String, List<String>> nested = new LinkedHashMap<>();
+        for (String path : paths) {
+            int dot = path.indexOf('.');
+            String field = fieldName(path, dot < 0 ? path : path.substring(0, dot));
+            if (dot < 0) {
+                whole.add(field);
+            } else {
+                nested.computeIfAbsent(field, ignored -> new ArrayList<>())
+                        .add(path.substring(dot + 1));
+            }
+        }
+        Map<String, Projection> fields = new LinkedHashMap<>();
+        for (String field : whole) {
+            fields.put(field, ALL);
+        }
+        nested.forEach((field, rest) -> fields.putIfAbsent(field, of(rest)));
+        return new Projection(fields);
+    }
+
+    /** Returns whether this projection selects every field in full. */
+    public boolean isAll() {
+        return fields == null;
+    }
+
+    /** Returns whether this projection selects the field called {@code name}. */
+    public boolean includes(String name) {
+        return fields == null || fields.containsKey(name);
+    }
+
+    /**
+     * Returns the projection of the value of the field called {@code name}, which selects nothing
+     * if this projection does not include the field.
+     */
+    public Projection field(String name) {
+        return fields == null ? ALL : fields.getOrDefault(name, NONE);
+    }
+
+    /**
+     * Returns {@code names} with the fields this projection does not include reported as {@link
+     * FieldNames#UNKNOWN}, throwing {@link IllegalArgumentException} if it selects a field that is
+     * not among {@code names}.
+     */
+    public FieldNames select(FieldNames names) {
+        if (fields == null) {
+            return names;
+        }
+        for (String field : fields.keySet()) {
+            if (names.indexOf(field) == FieldNames.UNKNOWN) {
+                throw new IllegalArgumentException("Cannot project unknown field '" + field + "'");
+            }
+        }
+        return names.retaining(fields.keySet());
+    }
+
+    /**
+     * Returns the fields of {@code names} that this projection does not include, as a mask of the
+     * 64 indices starting at {@code 64 * word}.
+     */
+    public long excluded(FieldNames names, int word) {
+        long excluded = 0;
+        int end = Math.min(names.size(), 64 * (word + 1));
+        for (int i = 64 * word; i < end; i++) {
+            if (!includes(names.name(i))) {
+                excluded |= 1L << (i % 64);
+            }
+        }
+        return excluded;
+    }
+
+    @Override
+    public String toString() {
+        return fields == null ? "*" : fields.toString();
+    }
+
+    private static String fieldName(String path, String segment) {
+        String field = segment;
+        while (field.endsWith("[]")) {
+            field = field.substring(0, field.length() - 2);
+        }
+        if (field.isEmpty() || field.indexOf('[') >= 0 || field.indexOf(']') >= 0) {
+            throw new IllegalArgumentException("Invalid projection path '" + path + "'");
+        }
+        return field;
+    }
+}
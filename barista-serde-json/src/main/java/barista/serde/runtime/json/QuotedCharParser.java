@@ -1,24 +1,25 @@
 package barista.serde.runtime.json;
 
-import barista.serde.runtime.parsec.ParseError;
+import barista.serde.runtime.parsec.DirectParser;
 import barista.serde.runtime.parsec.ParseState;
 import barista.serde.runtime.parsec.Parser;
-import io.github.markelliot.result.Result;
 
-final class QuotedCharParser implements Parser<Character> {
+final class QuotedCharParser implements DirectParser<Character> {
     public static final Parser<Character> INSTANCE = new QuotedCharParser();
 
     private QuotedCharParser() {}
 
     @Override
-    public Result<Character, ParseError> parse(ParseState state) {
-        ParseState.Mark start = state.mark();
-        return JsonParsers.string()
-                .parse(state)
-                .flatMapResult(
-                        r ->
-                                r.length() != 1
-                                        ? Result.error(start.error("Expected a single character"))
-                                        : Result.ok(r.charAt(0)));
+    public Character parseDirect(ParseState state) {
+        int start = state.markIndex();
+        String value = QuotedStringParser.INSTANCE.parseDirect(state);
+        if (state.hasError()) {
+            return null;
+        }
+        if (value.length() != 1) {
+            state.fail(start, "Expected a single character");
+            return null;
+        }
+        return value.charAt(0);
     }
 }
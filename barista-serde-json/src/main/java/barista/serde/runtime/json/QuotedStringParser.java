@@ -1,44 +1,120 @@
 package barista.serde.runtime.json;
 
-import barista.serde.runtime.parsec.ParseError;
+import barista.serde.runtime.parsec.DirectParser;
 import barista.serde.runtime.parsec.ParseState;
-import barista.serde.runtime.parsec.ParseState.Mark;
-import barista.serde.runtime.parsec.Parser;
-import io.github.markelliot.result.Result;
 
-final class QuotedStringParser implements Parser<String> {
-    public static final Parser<String> INSTANCE = new QuotedStringParser();
+/**
+ * Scans and unescapes a quoted string in a single pass: strings without escapes are produced
+ * straight from the input, and otherwise the unescaped runs between escapes are appended to a
+ * builder as each escape is decoded.
+ */
+final class QuotedStringParser implements DirectParser<String> {
+    public static final DirectParser<String> INSTANCE = new QuotedStringParser();
 
     private QuotedStringParser() {}
 
     @Override
-    public Result<String, ParseError> parse(ParseState state) {
+    public String parseDirect(ParseState state) {
         if (state.current() != '"') {
-            return Result.error(
-                    state.mark().error("Expected a quoted string and did not find a quote"));
+            state.fail(state.markIndex(), "Expected a quoted string and did not find a quote");
+            return null;
         }
-        int current = state.next();
-        Mark start = state.mark();
-        boolean escaped = false;
-        while (current != ParseState.EOS) {
-            if (!escaped) {
-                if (current == '\\') {
-                    escaped = true;
-                } else if (current == '"') {
-                    break;
-                }
-            } else {
-                escaped = false;
-            }
-            current = state.next();
+        state.next();
+        // retains the whole string so later runs can be appended from the input
+        int start = state.markIndex();
+        if (state.skipUntil('"', '\\') == '"') {
+            String result = state.slice(start).toString();
+            state.next(); // consume final quote
+            return result;
+        }
+        StringBuilder builder = new StringBuilder(2 * (state.position() - start) + 16);
+        return appendRest(state, builder, start) ? builder.toString() : null;
+    }
+
+    /**
+     * Appends the unescaped contents of the quoted string at the current position to {@code
+     * builder}, following the {@link DirectParser} contract by returning false on failure.
+     */
+    static boolean parseInto(ParseState state, StringBuilder builder) {
+        if (state.current() != '"') {
+            state.fail(state.markIndex(), "Expected a quoted string and did not find a quote");
+            return false;
         }
-        if (state.isEndOfStream()) {
-            return Result.error(start.error("Reached end of stream looking for terminal quote"));
+        state.next();
+        return appendRest(state, builder, state.markIndex());
+    }
+
+    /**
+     * Moves past the quoted string at the current position, checking its escapes as {@link
+     * #parseDirect} does without decoding them, and returns false on failure.
+     */
+    static boolean skip(ParseState state) {
+        if (state.current() != '"') {
+            state.fail(state.markIndex(), "Expected a quoted string and did not find a quote");
+            return false;
         }
-        Result<String, ParseError> result =
-                Result.ok(JsonStrings.unescape(state.slice(start)).toString());
+        state.next();
+        return appendRest(state, null, state.markIndex());
+    }
 
+    /**
+     * Appends the unescaped contents of the string whose first character is at {@code start}, from
+     * there up to its closing quote, which it consumes. A null {@code builder} only checks them.
+     */
+    private static boolean appendRest(ParseState state, StringBuilder builder, int start) {
+        int run = start;
+        for (int current = state.skipUntil('"', '\\');
+                current != '"';
+                current = state.skipUntil('"', '\\')) {
+            if (current == ParseState.EOS) {
+                state.fail(start, "Reached end of stream looking for terminal quote");
+                return false;
+            }
+            if (builder != null) {
+                state.appendSlice(builder, run);
+            }
+            if (!appendEscape(state, builder, start)) {
+                return false;
+            }
+            run = state.position();
+        }
+        if (builder != null) {
+            state.appendSlice(builder, run);
+        }
         state.next(); // consume final quote
-        return result;
+        return true;
+    }
+
+    /** Decodes the escape at the current backslash into {@code builder}, if not null. */
+    private static boolean appendEscape(ParseState state, StringBuilder builder, int start) {
+        int escaped = state.next();
+        if (escaped == 'u') {
+            int code = 0;
+            for (int i = 0; i < 4; i++) {
+                int digit = JsonStrings.hexDigit(state.next());
+                if (digit < 0) {
+                    state.fail(start, "Invalid unicode escape sequence");
+                    return false;
+                }
+                code = (code << 4) | digit;
+            }
+            // surrogate pairs arrive as consecutive escapes and combine in the builder
+            if (builder != null) {
+                builder.append((char) code);
+            }
+            state.next();
+        } else {
+            int decoded = JsonStrings.simpleEscape(escaped);
+            if (decoded >= 0) {
+                if (builder != null) {
+                    builder.append((char) decoded);
+                }
+                state.next();
+            } else if (builder != null) {
+                // not a valid escape: keep the backslash and read the character as usual
+                builder.append('\\');
+            }
+        }
+        return true;
     }
 }
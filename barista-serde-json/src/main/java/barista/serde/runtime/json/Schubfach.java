@@ -0,0 +1,361 @@
+package barista.serde.runtime.json;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Formats floating-point values with the fewest decimal digits that round-trip, using Raffaello
+ * Giulietti's Schubfach algorithm ("The Schubfach way to render doubles", 2020), which is also the
+ * algorithm behind {@link Double#toString} and {@link Float#toString} since JDK 19.
+ *
+ * <p>The layout matches {@link Double#toString}: values in {@code [10^-3, 10^7)} are written as
+ * plain decimals with at least one fractional digit, and others in computerized scientific notation
+ * such as {@code 1.0E-5}. Digits are written straight into the caller's buffer.
+ */
+final class Schubfach {
+    /** The longest formatted double, such as {@code -2.2250738585072014E-308}. */
+    static final int MAX_DOUBLE_LENGTH = 24;
+
+    /**
+     * The longest formatted float: a sign, nine digits, a point and a negative two-digit exponent.
+     */
+    static final int MAX_FLOAT_LENGTH = 15;
+
+    private static final int DOUBLE_PRECISION = 53;
+    private static final int DOUBLE_MIN_EXPONENT = -1074;
+    private static final long DOUBLE_MIN_SIGNIFICAND = 1L << (DOUBLE_PRECISION - 1);
+    private static final int DOUBLE_TINY_SIGNIFICAND = 3;
+
+    private static final int FLOAT_PRECISION = 24;
+    private static final int FLOAT_MIN_EXPONENT = -149;
+    private static final int FLOAT_MIN_SIGNIFICAND = 1 << (FLOAT_PRECISION - 1);
+    private static final int FLOAT_TINY_SIGNIFICAND = 8;
+
+    private static final int MIN_POWER_OF_TEN = -324;
+    private static final int MAX_POWER_OF_TEN = 292;
+    private static final long MASK_63 = (1L << 63) - 1;
+    private static final long MASK_32 = (1L << 32) - 1;
+
+    /**
+     * For each {@code k}, the 126-bit {@code g = floor(10^-k 2^-r) + 1} where {@code r} places
+     * {@code g} in {@code [2^125, 2^126)}, as pairs of its high and low 63 bits.
+     */
+    private static final long[] POWERS_OF_TEN = powersOfTen();
+
+    private static final byte[] NAN = ascii("NaN");
+    private static final byte[] INFINITY = ascii("Infinity");
+    private static final byte[] NEGATIVE_INFINITY = ascii("-Infinity");
+    private static final byte[] ZERO = ascii("0.0");
+    private static final byte[] NEGATIVE_ZERO = ascii("-0.0");
+
+    private Schubfach() {}
+
+    /** Returns the number of bytes {@link #writeDouble} writes for {@code value}. */
+    static int doubleLength(double value) {
+        return writeDouble(value, null, 0);
+    }
+
+    /** Returns the number of bytes {@link #writeFloat} writes for {@code value}. */
+    static int floatLength(float value) {
+        return writeFloat(value, null, 0);
+    }
+
+    /**
+     * Writes {@code value} at {@code pos}, returning the index that follows it; only measures the
+     * output if {@code out} is null.
+     */
+    static int writeDouble(double value, byte[] out, int pos) {
+        long bits = Double.doubleToRawLongBits(value);
+        long t = bits & (DOUBLE_MIN_SIGNIFICAND - 1);
+        int bq = (int) (bits >>> (DOUBLE_PRECISION - 1)) & 0x7FF;
+        if (bq == 0x7FF) {
+            return append(t != 0 ? NAN : bits > 0 ? INFINITY : NEGATIVE_INFINITY, out, pos);
+        }
+        if (bq == 0 && t == 0) {
+            return append(bits == 0 ? ZERO : NEGATIVE_ZERO, out, pos);
+        }
+        if (bits < 0) {
+            pos = sign(out, pos);
+        }
+        if (bq != 0) {
+            // normal: value = c 2^q
+            int mq = -DOUBLE_MIN_EXPONENT + 1 - bq;
+            long c = DOUBLE_MIN_SIGNIFICAND | t;
+            if (0 < mq && mq < DOUBLE_PRECISION) {
+                // a whole number, which is its own shortest decimal
+                long f = c >> mq;
+                if (f << mq == c) {
+                    return format(f, 0, out, pos);
+                }
+            }
+            return toDecimal(-mq, c, 0, out, pos);
+        }
+        // subnormal
+        return t < DOUBLE_TINY_SIGNIFICAND
+                ? toDecimal(DOUBLE_MIN_EXPONENT, 10 * t, -1, out, pos)
+                : toDecimal(DOUBLE_MIN_EXPONENT, t, 0, out, pos);
+    }
+
+    /** As {@link #writeDouble}. */
+    static int writeFloat(float value, byte[] out, int pos) {
+        int bits = Float.floatToRawIntBits(value);
+        int t = bits & (FLOAT_MIN_SIGNIFICAND - 1);
+        int bq = (bits >>> (FLOAT_PRECISION - 1)) & 0xFF;
+        if (bq == 0xFF) {
+            return append(t != 0 ? NAN : bits > 0 ? INFINITY : NEGATIVE_INFINITY, out, pos);
+        }
+        if (bq == 0 && t == 0) {
+            return append(bits == 0 ? ZERO : NEGATIVE_ZERO, out, pos);
+        }
+        if (bits < 0) {
+            pos = sign(out, pos);
+        }
+        if (bq != 0) {
+            int mq = -FLOAT_MIN_EXPONENT + 1 - bq;
+            int c = FLOAT_MIN_SIGNIFICAND | t;
+            if (0 < mq && mq < FLOAT_PRECISION) {
+                int f = c >> mq;
+                if (f << mq == c) {
+                    return format(f, 0, out, pos);
+                }
+            }
+            return toDecimal(-mq, c, 0, out, pos);
+        }
+        // subnormal
+        return t < FLOAT_TINY_SIGNIFICAND
+                ? toDecimal(FLOAT_MIN_EXPONENT, 10 * t, -1, out, pos)
+                : toDecimal(FLOAT_MIN_EXPONENT, t, 0, out, pos);
+    }
+
+    /** Writes the shortest decimal in the rounding interval of the double {@code c 2^q}. */
+    private static int toDecimal(int q, long c, int dk, byte[] out, int pos) {
+        int parity = (int) c & 1;
+        long cb = c << 2;
+        long cbr = cb + 2;
+        long cbl;
+        int k;
+        if (c != DOUBLE_MIN_SIGNIFICAND || q == DOUBLE_MIN_EXPONENT) {
+            cbl = cb - 2;
+            k = floorLog10Pow2(q);
+        } else {
+            // the interval is asymmetric at powers of two
+            cbl = cb - 1;
+            k = floorLog10ThreeQuartersPow2(q);
+        }
+        int h = q + floorLog2Pow10(-k) + 2;
+
+        int index = 2 * (k - MIN_POWER_OF_TEN);
+        long g1 = POWERS_OF_TEN[index];
+        long g0 = POWERS_OF_TEN[index + 1];
+
+        long vb = roundToOdd(g1, g0, cb << h);
+        long vbl = roundToOdd(g1, g0, cbl << h);
+        long vbr = roundToOdd(g1, g0, cbr << h);
+
+        long s = vb >> 2;
+        if (s >= 100) {
+            // prefer a decimal one digit shorter if the interval contains one
+            long sp10 = 10 * (s / 10);
+            long tp10 = sp10 + 10;
+            boolean upin = vbl + parity <= sp10 << 2;
+            boolean wpin = (tp10 << 2) + parity <= vbr;
+            if (upin != wpin) {
+                return format(upin ? sp10 : tp10, k, out, pos);
+            }
+        }
+
+        long t = s + 1;
+        boolean uin = vbl + parity <= s << 2;
+        boolean win = (t << 2) + parity <= vbr;
+        if (uin != win) {
+            return format(uin ? s : t, k + dk, out, pos);
+        }
+        // both are in the interval, so pick the closest, breaking ties to even
+        long cmp = vb - ((s + t) << 1);
+        return format(cmp < 0 || (cmp == 0 && (s & 1) == 0) ? s : t, k + dk, out, pos);
+    }
+
+    /** Writes the shortest decimal in the rounding interval of the float {@code c 2^q}. */
+    private static int toDecimal(int q, int c, int dk, byte[] out, int pos) {
+        int parity = c & 1;
+        long cb = (long) c << 2;
+        long cbr = cb + 2;
+        long cbl;
+        int k;
+        if (c != FLOAT_MIN_SIGNIFICAND || q == FLOAT_MIN_EXPONENT) {
+            cbl = cb - 2;
+            k = floorLog10Pow2(q);
+        } else {
+            cbl = cb - 1;
+            k = floorLog10ThreeQuartersPow2(q);
+        }
+        int h = q + floorLog2Pow10(-k) + 33;
+
+        long g = POWERS_OF_TEN[2 * (k - MIN_POWER_OF_TEN)] + 1;
+
+        int vb = roundToOdd(g, cb << h);
+        int vbl = roundToOdd(g, cbl << h);
+        int vbr = roundToOdd(g, cbr << h);
+
+        int s = vb >> 2;
+        if (s >= 100) {
+            int sp10 = 10 * (s / 10);
+            int tp10 = sp10 + 10;
+            boolean upin = vbl + parity <= sp10 << 2;
+            boolean wpin = (tp10 << 2) + parity <= vbr;
+            if (upin != wpin) {
+                return format(upin ? sp10 : tp10, k, out, pos);
+            }
+        }
+
+        int t = s + 1;
+        boolean uin = vbl + parity <= s << 2;
+        boolean win = (t << 2) + parity <= vbr;
+        if (uin != win) {
+            return format(uin ? s : t, k + dk, out, pos);
+        }
+        int cmp = vb - ((s + t) << 1);
+        return format(cmp < 0 || (cmp == 0 && (s & 1) == 0) ? s : t, k + dk, out, pos);
+    }
+
+    private static long roundToOdd(long g1, long g0, long cp) {
+        long x1 = Math.multiplyHigh(g0, cp);
+        long y0 = g1 * cp;
+        long y1 = Math.multiplyHigh(g1, cp);
+        long z = (y0 >>> 1) + x1;
+        long vbp = y1 + (z >>> 63);
+        return vbp | (((z & MASK_63) + MASK_63) >>> 63);
+    }
+
+    private static int roundToOdd(long g, long cp) {
+        long x1 = Math.multiplyHigh(g, cp);
+        long vbp = x1 >>> 31;
+        return (int) (vbp | (((x1 & MASK_32) + MASK_32) >>> 32));
+    }
+
+    /** Writes the positive decimal {@code f 10^e} laid out like {@link Double#toString}. */
+    private static int format(long f, int e, byte[] out, int pos) {
+        while (f % 10 == 0) {
+            f /= 10;
+            e++;
+        }
+        int length = Digits.count(f);
+        // the value is 0.d1d2...dn 10^exponent
+        int exponent = e + length;
+        if (out == null) {
+            return pos + formattedLength(length, exponent);
+        }
+        if (0 < exponent && exponent <= 7) {
+            if (length <= exponent) {
+                // a whole number: digits, any zeros they stand for, then ".0"
+                Digits.write(f, out, pos + length);
+                pos += length;
+                for (int i = length; i < exponent; i++) {
+                    out[pos++] = '0';
+                }
+                out[pos++] = '.';
+                out[pos++] = '0';
+                return pos;
+            }
+            // write the digits one place to the right, then shift the integer part back over
+            // the gap to make room for the point
+            Digits.write(f, out, pos + length + 1);
+            System.arraycopy(out, pos + 1, out, pos, exponent);
+            out[pos + exponent] = '.';
+            return pos + length + 1;
+        }
+        if (-3 < exponent && exponent <= 0) {
+            out[pos++] = '0';
+            out[pos++] = '.';
+            for (int i = exponent; i < 0; i++) {
+                out[pos++] = '0';
+            }
+            Digits.write(f, out, pos + length);
+            return pos + length;
+        }
+        // scientific: d.ddd followed by the exponent of the first digit
+        Digits.write(f, out, pos + length + 1);
+        out[pos] = out[pos + 1];
+        out[pos + 1] = '.';
+        pos += length + 1;
+        if (length == 1) {
+            out[pos++] = '0';
+        }
+        out[pos++] = 'E';
+        return Digits.writeLong(exponent - 1, out, pos);
+    }
+
+    /** Returns the length of the layout {@link #format} uses for {@code 0.d1...dn 10^exponent}. */
+    private static int formattedLength(int length, int exponent) {
+        if (0 < exponent && exponent <= 7) {
+            return length <= exponent ? exponent + 2 : length + 1;
+        }
+        if (-3 < exponent && exponent <= 0) {
+            return 2 - exponent + length;
+        }
+        return length + (length == 1 ? 3 : 2) + Digits.length(exponent - 1);
+    }
+
+    private static int sign(byte[] out, int pos) {
+        if (out != null) {
+            out[pos] = '-';
+        }
+        return pos + 1;
+    }
+
+    private static int append(byte[] bytes, byte[] out, int pos) {
+        if (out != null) {
+            System.arraycopy(bytes, 0, out, pos, bytes.length);
+        }
+        return pos + bytes.length;
+    }
+
+    /** Returns {@code floor(e log10(2))}. */
+    private static int floorLog10Pow2(int e) {
+        return (int) ((e * 661_971_961_083L) >> 41);
+    }
+
+    /** Returns {@code floor(e log10(2) + log10(3/4))}. */
+    private static int floorLog10ThreeQuartersPow2(int e) {
+        return (int) ((e * 661_971_961_083L - 274_743_187_321L) >> 41);
+    }
+
+    /** Returns {@code floor(e log2(10))}. */
+    private static int floorLog2Pow10(int e) {
+        return (int) ((e * 913_124_641_741L) >> 38);
+    }
+
+    private static long[] powersOfTen() {
+        BigInteger lowerBound = BigInteger.ONE.shiftLeft(125);
+        BigInteger upperBound = BigInteger.ONE.shiftLeft(126);
+        BigInteger mask63 = BigInteger.valueOf(MASK_63);
+        long[] powers = new long[2 * (MAX_POWER_OF_TEN - MIN_POWER_OF_TEN + 1)];
+        for (int k = MIN_POWER_OF_TEN; k <= MAX_POWER_OF_TEN; k++) {
+            BigInteger beta;
+            if (k <= 0) {
+                BigInteger power = BigInteger.TEN.pow(-k);
+                int r = power.bitLength() - 126;
+                beta = r >= 0 ? power.shiftRight(r) : power.shiftLeft(-r);
+            } else {
+                BigInteger power = BigInteger.TEN.pow(k);
+                int shift = 125 + power.bitLength();
+                beta = BigInteger.ONE.shiftLeft(shift).divide(power);
+                while (beta.compareTo(upperBound) >= 0) {
+                    beta = BigInteger.ONE.shiftLeft(--shift).divide(power);
+                }
+                while (beta.compareTo(lowerBound) < 0) {
+                    beta = BigInteger.ONE.shiftLeft(++shift).divide(power);
+                }
+            }
+            BigInteger g = beta.add(BigInteger.ONE);
+            int index = 2 * (k - MIN_POWER_OF_TEN);
+            powers[index] = g.shiftRight(63).longValue();
+            powers[index + 1] = g.and(mask63).longValue();
+        }
+        return powers;
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+}
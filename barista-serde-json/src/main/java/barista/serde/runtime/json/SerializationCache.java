@@ -0,0 +1,71 @@
+package barista.serde.runtime.json;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+
+/**
+ * Remembers the UTF-8 encoded JSON of recently serialized immutable values, so that serializing an
+ * equal value again, including as part of an enclosing record, is a copy.
+ *
+ * <p>The cache is a fixed number of slots, each holding one value and its encoding, addressed by
+ * the value's hash: an entry is evicted when a value that hashes to the same slot is cached, so
+ * retention is bounded without any bookkeeping on reads. Lookups compare by identity before falling
+ * back to {@link Object#equals}. Slots are read and replaced atomically, so the cache may be shared
+ * freely between threads; racing writers may each encode a value, and the last one wins.
+ *
+ * <p>Cached values must be deeply immutable, as records of strings, primitives and other such
+ * records are. Note that records compute {@link Object#hashCode} over all of their components on
+ * each call, which is cheap next to serialization but not free for very large values.
+ */
+public final class SerializationCache<T> {
+    private final AtomicReferenceArray<Entry<T>> slots;
+    private final int mask;
+
+    /** Creates a cache of {@code capacity} slots, rounded up to a power of two. */
+    public SerializationCache(int capacity) {
+        if (capacity <= 0 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("capacity must be between 1 and 2^30");
+        }
+        int slotCount = Integer.highestOneBit(capacity - 1) << 1;
+        this.slots = new AtomicReferenceArray<>(Math.max(slotCount, 1));
+        this.mask = slots.length() - 1;
+    }
+
+    /** Returns the cached encoding of {@code value}, or null if there is none. */
+    public byte[] get(T value) {
+        int hash = spread(value.hashCode());
+        Entry<T> entry = slots.get(hash & mask);
+        if (entry != null
+                && entry.hash == hash
+                && (entry.value == value || entry.value.equals(value))) {
+            return entry.json;
+        }
+        return null;
+    }
+
+    /**
+     * Returns the cached encoding of {@code value}, first encoding and caching it with {@code
+     * encoder} if there is none. Callers must not modify the returned array.
+     */
+    public byte[] computeIfAbsent(T value, Function<? super T, byte[]> encoder) {
+        int hash = spread(value.hashCode());
+        int slot = hash & mask;
+        Entry<T> entry = slots.get(slot);
+        if (entry != null
+                && entry.hash == hash
+                && (entry.value == value || entry.value.equals(value))) {
+            return entry.json;
+        }
+        byte[] json = encoder.apply(value);
+        slots.set(slot, new Entry<>(value, hash, json));
+        return json;
+    }
+
+    /** Mixes the high bits of {@code hash} into the low bits used to select a slot. */
+    private static int spread(int hash) {
+        int mixed = hash * 0x9E3779B9;
+        return mixed ^ (mixed >>> 16);
+    }
+
+    private record Entry<T>(T value, int hash, byte[] json) {}
+}
@@ -1,6 +1,7 @@
 package barista.serde.runtime.json;
 
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
@@ -8,9 +9,14 @@ import java.util.OptionalDouble;
 import java.util.OptionalInt;
 import java.util.OptionalLong;
 import java.util.StringJoiner;
+import java.util.function.BiConsumer;
 import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import java.util.stream.Stream;
 
 public final class Serializers {
+    private static final int NULL_LENGTH = 4;
+
     private Serializers() {}
 
     public static JsonCharSeq serialize(boolean value) {
@@ -145,4 +151,528 @@ public final class Serializers {
         }
         return new JsonCharSeq(sj.toString());
     }
+
+    public static void serialize(boolean value, JsonWriter writer) {
+        writer.value(value);
+    }
+
+    public static void serialize(Boolean value, JsonWriter writer) {
+        if (value == null) {
+            writer.nullValue();
+        } else {
+            writer.value(value.booleanValue());
+        }
+    }
+
+    public static void serialize(char value, JsonWriter writer) {
+        writer.value(value);
+    }
+
+    public static void serialize(Character value, JsonWriter writer) {
+        if (value == null) {
+            writer.nullValue();
+        } else {
+            writer.value(value.charValue());
+        }
+    }
+
+    public static void serialize(byte value, JsonWriter writer) {
+        writer.value(value);
+    }
+
+    public static void serialize(Byte value, JsonWriter writer) {
+        if (value == null) {
+            writer.nullValue();
+        } else {
+            writer.value(value.byteValue());
+        }
+    }
+
+    public static void serialize(short value, JsonWriter writer) {
+        writer.value(value);
+    }
+
+    public static void serialize(Short value, JsonWriter writer) {
+        if (value == null) {
+            writer.nullValue();
+        } else {
+            writer.value(value.shortValue());
+        }
+    }
+
+    public static void serialize(int value, JsonWriter writer) {
+        writer.value(value);
+    }
+
+    public static void serialize(Integer value, JsonWriter writer) {
+        if (value == null) {
+            writer.nullValue();
+        } else {
+            writer.value(value.intValue());
+        }
+    }
+
+    public static void serialize(long value, JsonWriter writer) {
+        writer.value(value);
+    }
+
+    public static void serialize(Long value, JsonWriter writer) {
+        if (value == null) {
+            writer.nullValue();
+        } else {
+            writer.value(value.longValue());
+        }
+    }
+
+    public static void serialize(float value, JsonWriter writer) {
+        writer.value(value);
+    }
+
+    public static void serialize(Float value, JsonWriter writer) {
+        if (value == null) {
+            writer.nullValue();
+        } else {
+            writer.value(value.floatValue());
+        }
+    }
+
+    public static void serialize(double value, JsonWriter writer) {
+        writer.value(value);
+    }
+
+    public static void serialize(Double value, JsonWriter writer) {
+        if (value == null) {
+            writer.nullValue();
+        } else {
+            writer.value(value.doubleValue());
+        }
+    }
+
+    public static void serialize(String value, JsonWriter writer) {
+        writer.value(value);
+    }
+
+    public static <T> void serialize(
+            Optional<T> optional, BiConsumer<T, JsonWriter> serializer, JsonWriter writer) {
+        // disallow null optionals to avoid handling a 3rd state
+        Objects.requireNonNull(optional);
+        if (optional.isPresent()) {
+            serializer.accept(optional.get(), writer);
+        } else {
+            writer.nullValue();
+        }
+    }
+
+    public static void serialize(OptionalInt optional, JsonWriter writer) {
+        Objects.requireNonNull(optional);
+        if (optional.isPresent()) {
+            writer.value(optional.getAsInt());
+        } else {
+            writer.nullValue();
+        }
+    }
+
+    public static void serialize(OptionalLong optional, JsonWriter writer) {
+        Objects.requireNonNull(optional);
+        if (optional.isPresent()) {
+            writer.value(optional.getAsLong());
+        } else {
+            writer.nullValue();
+        }
+    }
+
+    public static void serialize(OptionalDouble optional, JsonWriter writer) {
+        Objects.requireNonNull(optional);
+        if (optional.isPresent()) {
+            writer.value(optional.getAsDouble());
+        } else {
+            writer.nullValue();
+        }
+    }
+
+    public static void serialize(int[] values, JsonWriter writer) {
+        if (values == null) {
+            writer.nullValue();
+            return;
+        }
+        writer.beginArray();
+        for (int value : values) {
+            writer.value(value);
+        }
+        writer.endArray();
+    }
+
+    public static void serialize(long[] values, JsonWriter writer) {
+        if (values == null) {
+            writer.nullValue();
+            return;
+        }
+        writer.beginArray();
+        for (long value : values) {
+            writer.value(value);
+        }
+        writer.endArray();
+    }
+
+    public static void serialize(float[] values, JsonWriter writer) {
+        if (values == null) {
+            writer.nullValue();
+            return;
+        }
+        writer.beginArray();
+        for (float value : values) {
+            writer.value(value);
+        }
+        writer.endArray();
+    }
+
+    public static void serialize(double[] values, JsonWriter writer) {
+        if (values == null) {
+            writer.nullValue();
+            return;
+        }
+        writer.beginArray();
+        for (double value : values) {
+            writer.value(value);
+        }
+        writer.endArray();
+    }
+
+    public static void serialize(boolean[] values, JsonWriter writer) {
+        if (values == null) {
+            writer.nullValue();
+            return;
+        }
+        writer.beginArray();
+        for (boolean value : values) {
+            writer.value(value);
+        }
+        writer.endArray();
+    }
+
+    /** Writes {@code key} as a quoted object key, for maps with integer keys. */
+    public static void serializeKey(Integer key, JsonWriter writer) {
+        writer.quotedValue(key);
+    }
+
+    /** Writes {@code key} as a quoted object key, for maps with long keys. */
+    public static void serializeKey(Long key, JsonWriter writer) {
+        writer.quotedValue(key);
+    }
+
+    public static <T> void serialize(
+            Collection<T> collection, BiConsumer<T, JsonWriter> serializer, JsonWriter writer) {
+        if (collection == null) {
+            writer.nullValue();
+            return;
+        }
+
+        Objects.requireNonNull(serializer);
+
+        writer.beginArray();
+        for (T item : collection) {
+            serializer.accept(item, writer);
+        }
+        writer.endArray();
+    }
+
+    /**
+     * Serializes {@code items} as an array, one item at a time, so that with a {@linkplain
+     * JsonWriter#streaming streaming writer} large results are written without being collected.
+     */
+    public static <T> void serialize(
+            Iterable<T> items, BiConsumer<T, JsonWriter> serializer, JsonWriter writer) {
+        if (items == null) {
+            writer.nullValue();
+            return;
+        }
+        serialize(items.iterator(), serializer, writer);
+    }
+
+    /** As {@link #serialize(Iterable, BiConsumer, JsonWriter)}, consuming {@code items}. */
+    public static <T> void serialize(
+            Iterator<T> items, BiConsumer<T, JsonWriter> serializer, JsonWriter writer) {
+        if (items == null) {
+            writer.nullValue();
+            return;
+        }
+
+        Objects.requireNonNull(serializer);
+
+        writer.beginArray();
+        while (items.hasNext()) {
+            serializer.accept(items.next(), writer);
+        }
+        writer.endArray();
+    }
+
+    /**
+     * As {@link #serialize(Iterable, BiConsumer, JsonWriter)}, consuming {@code items} in encounter
+     * order; the stream is not closed.
+     */
+    public static <T> void serialize(
+            Stream<T> items, BiConsumer<T, JsonWriter> serializer, JsonWriter writer) {
+        if (items == null) {
+            writer.nullValue();
+            return;
+        }
+
+        Objects.requireNonNull(serializer);
+
+        writer.beginArray();
+        items.forEachOrdered(item -> serializer.accept(item, writer));
+        writer.endArray();
+    }
+
+    /**
+     * As {@link #serialize(Collection, BiConsumer, JsonWriter)}, but collections of at least {@code
+     * parallelThreshold} items are split into chunks that are serialized concurrently on the common
+     * {@link java.util.concurrent.ForkJoinPool} and then written in order. {@code serializer} must
+     * be safe to call from several threads at once.
+     */
+    public static <T> void serialize(
+            Collection<T> collection,
+            BiConsumer<T, JsonWriter> serializer,
+            int parallelThreshold,
+            JsonWriter writer) {
+        if (collection == null || collection.isEmpty() || collection.size() < parallelThreshold) {
+            serialize(collection, serializer, writer);
+            return;
+        }
+
+        Objects.requireNonNull(serializer);
+
+        ParallelSerializer.serialize(collection, serializer, writer);
+    }
+
+    /**
+     * Serializes the provided Map using {@code keySerializer} to write keys, which must be valid
+     * JSON map keys (typically quoted strings).
+     */
+    public static <K, V> void serialize(
+            Map<K, V> map,
+            BiConsumer<K, JsonWriter> keySerializer,
+            BiConsumer<V, JsonWriter> valueSerializer,
+            JsonWriter writer) {
+        if (map == null) {
+            writer.nullValue();
+            return;
+        }
+
+        Objects.requireNonNull(keySerializer);
+        Objects.requireNonNull(valueSerializer);
+
+        writer.beginObject();
+        for (Map.Entry<K, V> entry : map.entrySet()) {
+            keySerializer.accept(entry.getKey(), writer);
+            writer.nameSeparator();
+            valueSerializer.accept(entry.getValue(), writer);
+        }
+        writer.endObject();
+    }
+
+    /**
+     * Returns the UTF-8 JSON {@code serializer} writes for {@code value}, written straight into an
+     * array of the size {@code length} measures.
+     */
+    public static <T> byte[] serializeToBytes(
+            T value, ToIntFunction<T> length, BiConsumer<T, JsonWriter> serializer) {
+        JsonWriter writer = new JsonWriter(length.applyAsInt(value));
+        serializer.accept(value, writer);
+        return writer.toByteArray();
+    }
+
+    /**
+     * Returns the UTF-8 JSON {@code serializer} writes for {@code value}, written into a growable
+     * buffer, for values holding components that can be written only once, such as a {@link
+     * Stream}, and so can't be measured in advance.
+     */
+    public static <T> byte[] serializeToBytes(T value, BiConsumer<T, JsonWriter> serializer) {
+        try (JsonWriter writer = JsonWriter.recycled()) {
+            serializer.accept(value, writer);
+            return writer.toByteArray();
+        }
+    }
+
+    public static int serializedLength(boolean value) {
+        return value ? 4 : 5;
+    }
+
+    public static int serializedLength(Boolean value) {
+        return value != null ? serializedLength(value.booleanValue()) : NULL_LENGTH;
+    }
+
+    public static int serializedLength(char value) {
+        return JsonWriter.stringLength(String.valueOf(value));
+    }
+
+    public static int serializedLength(Character value) {
+        return value != null ? serializedLength(value.charValue()) : NULL_LENGTH;
+    }
+
+    public static int serializedLength(byte value) {
+        return Digits.length(value);
+    }
+
+    public static int serializedLength(Byte value) {
+        return value != null ? Digits.length(value) : NULL_LENGTH;
+    }
+
+    public static int serializedLength(short value) {
+        return Digits.length(value);
+    }
+
+    public static int serializedLength(Short value) {
+        return value != null ? Digits.length(value) : NULL_LENGTH;
+    }
+
+    public static int serializedLength(int value) {
+        return Digits.length(value);
+    }
+
+    public static int serializedLength(Integer value) {
+        return value != null ? Digits.length(value) : NULL_LENGTH;
+    }
+
+    public static int serializedLength(long value) {
+        return Digits.length(value);
+    }
+
+    public static int serializedLength(Long value) {
+        return value != null ? Digits.length(value) : NULL_LENGTH;
+    }
+
+    public static int serializedLength(float value) {
+        return Schubfach.floatLength(value);
+    }
+
+    public static int serializedLength(Float value) {
+        return value != null ? Schubfach.floatLength(value) : NULL_LENGTH;
+    }
+
+    public static int serializedLength(double value) {
+        return Schubfach.doubleLength(value);
+    }
+
+    public static int serializedLength(Double value) {
+        return value != null ? Schubfach.doubleLength(value) : NULL_LENGTH;
+    }
+
+    /** Returns the length of {@code value} as written by a {@link JsonWriter} that escapes '/'. */
+    public static int serializedLength(String value) {
+        return JsonWriter.stringLength(value);
+    }
+
+    public static <T> int serializedLength(Optional<T> optional, ToIntFunction<T> length) {
+        Objects.requireNonNull(optional);
+        return optional.isPresent() ? length.applyAsInt(optional.get()) : NULL_LENGTH;
+    }
+
+    public static int serializedLength(OptionalInt optional) {
+        Objects.requireNonNull(optional);
+        return optional.isPresent() ? Digits.length(optional.getAsInt()) : NULL_LENGTH;
+    }
+
+    public static int serializedLength(OptionalLong optional) {
+        Objects.requireNonNull(optional);
+        return optional.isPresent() ? Digits.length(optional.getAsLong()) : NULL_LENGTH;
+    }
+
+    public static int serializedLength(OptionalDouble optional) {
+        Objects.requireNonNull(optional);
+        return optional.isPresent() ? Schubfach.doubleLength(optional.getAsDouble()) : NULL_LENGTH;
+    }
+
+    public static int serializedLength(int[] values) {
+        if (values == null) {
+            return NULL_LENGTH;
+        }
+        int total = 2 + Math.max(values.length - 1, 0);
+        for (int value : values) {
+            total += Digits.length(value);
+        }
+        return total;
+    }
+
+    public static int serializedLength(long[] values) {
+        if (values == null) {
+            return NULL_LENGTH;
+        }
+        int total = 2 + Math.max(values.length - 1, 0);
+        for (long value : values) {
+            total += Digits.length(value);
+        }
+        return total;
+    }
+
+    public static int serializedLength(float[] values) {
+        if (values == null) {
+            return NULL_LENGTH;
+        }
+        int total = 2 + Math.max(values.length - 1, 0);
+        for (float value : values) {
+            total += Schubfach.floatLength(value);
+        }
+        return total;
+    }
+
+    public static int serializedLength(double[] values) {
+        if (values == null) {
+            return NULL_LENGTH;
+        }
+        int total = 2 + Math.max(values.length - 1, 0);
+        for (double value : values) {
+            total += Schubfach.doubleLength(value);
+        }
+        return total;
+    }
+
+    public static int serializedLength(boolean[] values) {
+        if (values == null) {
+            return NULL_LENGTH;
+        }
+        int total = 2 + Math.max(values.length - 1, 0);
+        for (boolean value : values) {
+            total += serializedLength(value);
+        }
+        return total;
+    }
+
+    /**
+     * Returns the length of {@code key} as written by {@link #serializeKey(Integer, JsonWriter)}.
+     */
+    public static int serializedKeyLength(Integer key) {
+        return Digits.length(key) + 2;
+    }
+
+    /** Returns the length of {@code key} as written by {@link #serializeKey(Long, JsonWriter)}. */
+    public static int serializedKeyLength(Long key) {
+        return Digits.length(key) + 2;
+    }
+
+    public static <T> int serializedLength(Collection<T> collection, ToIntFunction<T> length) {
+        if (collection == null) {
+            return NULL_LENGTH;
+        }
+        // brackets and the commas between items
+        int total = 2 + Math.max(collection.size() - 1, 0);
+        for (T item : collection) {
+            total += length.applyAsInt(item);
+        }
+        return total;
+    }
+
+    public static <K, V> int serializedLength(
+            Map<K, V> map, ToIntFunction<K> keyLength, ToIntFunction<V> valueLength) {
+        if (map == null) {
+            return NULL_LENGTH;
+        }
+        // braces, the commas between entries and each entry's colon
+        int total = 2 + Math.max(map.size() - 1, 0) + map.size();
+        for (Map.Entry<K, V> entry : map.entrySet()) {
+            total +=
+                    keyLength.applyAsInt(entry.getKey()) + valueLength.applyAsInt(entry.getValue());
+        }
+        return total;
+    }
 }
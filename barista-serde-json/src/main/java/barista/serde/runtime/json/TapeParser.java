@@ -0,0 +1,135 @@
+package barista.serde.runtime.json;
+
+import barista.serde.runtime.parsec.DirectParser;
+import barista.serde.runtime.parsec.ParseState;
+import java.util.Arrays;
+
+/**
+ * Parses a JSON value of arbitrary depth into a {@link JsonTape}, appending entries to a growing
+ * {@code long[]} and strings to a single builder, both of which are trimmed once the value is
+ * complete.
+ */
+final class TapeParser implements DirectParser<JsonTape> {
+    public static final DirectParser<JsonTape> INSTANCE = new TapeParser();
+
+    private TapeParser() {}
+
+    @Override
+    public JsonTape parseDirect(ParseState state) {
+        Tape tape = new Tape();
+        if (!tape.value(state)) {
+            return null;
+        }
+        return new JsonTape(Arrays.copyOf(tape.entries, tape.size), tape.strings.toString());
+    }
+
+    private static final class Tape {
+        private long[] entries = new long[64];
+        private int size;
+        private final StringBuilder strings = new StringBuilder();
+
+        private boolean value(ParseState state) {
+            state.skipWhitespace();
+            switch (state.current()) {
+                case '{' -> {
+                    return object(state);
+                }
+                case '[' -> {
+                    return array(state);
+                }
+                case '"' -> {
+                    return string(state);
+                }
+                case 't', 'f' -> {
+                    boolean value = BooleanParser.parseBoolean(state);
+                    append(JsonTape.entry(value ? JsonTape.TRUE : JsonTape.FALSE, 0));
+                }
+                case 'n' -> {
+                    NullParser.INSTANCE.parseDirect(state);
+                    append(JsonTape.entry(JsonTape.NULL, 0));
+                }
+                default -> {
+                    double value = FloatingPointParser.parseDouble(state);
+                    append(JsonTape.entry(JsonTape.NUMBER, 0));
+                    append(Double.doubleToRawLongBits(value));
+                }
+            }
+            return !state.hasError();
+        }
+
+        private boolean object(ParseState state) {
+            int start = open();
+            state.next(); // consume '{'
+            state.skipWhitespace();
+            int count = 0;
+            if (state.current() != '}') {
+                do {
+                    state.skipWhitespace();
+                    if (!string(state)
+                            || KeyValueSeparatorParser.INSTANCE.parseDirect(state) == null
+                            || !value(state)) {
+                        return false;
+                    }
+                    count++;
+                } while (JsonSyntax.separator(state));
+            }
+            return close(state, start, '{', '}', count);
+        }
+
+        private boolean array(ParseState state) {
+            int start = open();
+            state.next(); // consume '['
+            state.skipWhitespace();
+            int count = 0;
+            if (state.current() != ']') {
+                do {
+                    if (!value(state)) {
+                        return false;
+                    }
+                    count++;
+                } while (JsonSyntax.separator(state));
+            }
+            return close(state, start, '[', ']', count);
+        }
+
+        private boolean string(ParseState state) {
+            int offset = strings.length();
+            if (!QuotedStringParser.parseInto(state, strings)) {
+                return false;
+            }
+            int length = strings.length() - offset;
+            if (length > JsonTape.MAX_STRING_LENGTH) {
+                state.fail(state.markIndex(), "String is too long to be stored on a tape");
+                return false;
+            }
+            append(JsonTape.stringEntry(offset, length));
+            return true;
+        }
+
+        /** Reserves the opening entry of a container, to be filled in by {@link #close}. */
+        private int open() {
+            append(0);
+            return size - 1;
+        }
+
+        /**
+         * Consumes the closing bracket {@code end}, pointing the container's opening entry at the
+         * closing entry, which records the number of fields or elements.
+         */
+        private boolean close(ParseState state, int start, char open, char end, int count) {
+            if (!JsonSyntax.close(state, end)) {
+                return false;
+            }
+            entries[start] = JsonTape.entry(open, size);
+            append(JsonTape.entry(end, count));
+            return true;
+        }
+
+        private void append(long entry) {
+            if (size == entries.length) {
+                entries = Arrays.copyOf(entries, size * 2);
+            }
+            entries[size++] = entry;
+        }
+    }
+}
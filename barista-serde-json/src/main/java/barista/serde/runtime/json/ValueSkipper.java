@@ -0,0 +1,106 @@
+package barista.serde.runtime.json;
+
+import barista.serde.runtime.parsec.DirectParser;
+import barista.serde.runtime.parsec.Empty;
+import barista.serde.runtime.parsec.ParseState;
+
+/**
+ * Moves past JSON values without producing them: strings are scanned for their closing quote and
+ * containers are walked key by key and element by element, so nothing is allocated however large
+ * the value is.
+ *
+ * <p>{@link #skip} accepts exactly the values {@link JsonParsers#any()} accepts, reporting the same
+ * errors for malformed scalars. {@link #skipRest}, used to leave containers that have already been
+ * partly read, only balances brackets.
+ */
+final class ValueSkipper {
+    public static final DirectParser<Empty> INSTANCE =
+            state -> {
+                skip(state);
+                return state.hasError() ? null : Empty.INSTANCE;
+            };
+
+    private ValueSkipper() {}
+
+    /** Skips the value at the current position, recording an error on {@code state} if none. */
+    static void skip(ParseState state) {
+        state.skipWhitespace();
+        switch (state.current()) {
+            case '"' -> QuotedStringParser.skip(state);
+            case '{' -> skipObject(state);
+            case '[' -> skipArray(state);
+            case 't', 'f' -> BooleanParser.parseBoolean(state);
+            case 'n' -> NullParser.INSTANCE.parseDirect(state);
+            case ']', '}', ',', ':', ParseState.EOS -> state.fail(
+                    state.markIndex(), "Expected a JSON value");
+            default -> FloatingPointParser.parseDouble(state);
+        }
+    }
+
+    /**
+     * Skips the remainder of {@code depth} enclosing containers, so that the current position
+     * follows the bracket closing the outermost of them.
+     */
+    static void skipRest(ParseState state, int depth) {
+        while (depth > 0) {
+            switch (state.current()) {
+                case '"' -> {
+                    QuotedStringParser.skip(state);
+                    if (state.hasError()) {
+                        return;
+                    }
+                }
+                case '{', '[' -> {
+                    depth++;
+                    state.next();
+                }
+                case '}', ']' -> {
+                    depth--;
+                    state.next();
+                }
+                case ParseState.EOS -> {
+                    state.fail(state.markIndex(), "Reached end of stream looking for ']' or '}'");
+                    return;
+                }
+                default -> state.next();
+            }
+        }
+    }
+
+    private static void skipObject(ParseState state) {
+        state.next(); // consume '{'
+        state.skipWhitespace();
+        if (state.current() == '}') {
+            state.next();
+            return;
+        }
+        do {
+            state.skipWhitespace();
+            if (!QuotedStringParser.skip(state)
+                    || KeyValueSeparatorParser.INSTANCE.parseDirect(state) == null) {
+                return;
+            }
+            skip(state);
+            if (state.hasError()) {
+                return;
+            }
+        } while (JsonSyntax.separator(state));
+        JsonSyntax.close(state, '}');
+    }
+
+    private static void skipArray(ParseState state) {
+        state.next(); // consume '['
+        state.skipWhitespace();
+        if (state.current() == ']') {
+            state.next();
+            return;
+        }
+        do {
+            skip(state);
+            if (state.hasError()) {
+                return;
+            }
+        } while (JsonSyntax.separator(state));
+        JsonSyntax.close(state, ']');
+    }
+}
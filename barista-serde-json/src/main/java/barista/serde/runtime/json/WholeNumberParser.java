@@ -1,36 +1,135 @@
 package barista.serde.runtime.json;
 
-import barista.serde.runtime.parsec.ParseError;
+import barista.serde.runtime.parsec.DirectParser;
 import barista.serde.runtime.parsec.ParseState;
 import barista.serde.runtime.parsec.Parser;
-import io.github.markelliot.result.Result;
-import java.util.function.Function;
+import java.util.function.LongFunction;
 
-final class WholeNumberParser<T> implements Parser<T> {
-    public static final Parser<Byte> BYTE = new WholeNumberParser<>(Byte::parseByte, "byte");
-    public static final Parser<Short> SHORT = new WholeNumberParser<>(Short::parseShort, "short");
-    public static final Parser<Integer> INT = new WholeNumberParser<>(Integer::parseInt, "integer");
-    public static final Parser<Long> LONG = new WholeNumberParser<>(Long::parseLong, "long");
+final class WholeNumberParser<T> implements DirectParser<T> {
+    public static final Parser<Byte> BYTE =
+            new WholeNumberParser<>(Byte.MIN_VALUE, Byte.MAX_VALUE, v -> (byte) v, "byte");
+    public static final Parser<Short> SHORT =
+            new WholeNumberParser<>(Short.MIN_VALUE, Short.MAX_VALUE, v -> (short) v, "short");
+    public static final Parser<Integer> INT =
+            new WholeNumberParser<>(Integer.MIN_VALUE, Integer.MAX_VALUE, v -> (int) v, "integer");
+    public static final Parser<Long> LONG =
+            new WholeNumberParser<>(Long.MIN_VALUE, Long.MAX_VALUE, v -> v, "long");
 
-    private final Function<String, T> fn;
+    /** Parses object keys that are quoted integers, such as {@code "42"}. */
+    static final DirectParser<Integer> INT_KEY =
+            state -> {
+                long value = parseQuoted(state, Integer.MIN_VALUE, Integer.MAX_VALUE, "integer");
+                return state.hasError() ? null : (int) value;
+            };
+
+    /** Parses object keys that are quoted longs, such as {@code "42"}. */
+    static final DirectParser<Long> LONG_KEY =
+            state -> {
+                long value = parseQuoted(state, Long.MIN_VALUE, Long.MAX_VALUE, "long");
+                return state.hasError() ? null : value;
+            };
+
+    private final long min;
+    private final long max;
+    private final LongFunction<T> fn;
     private final String name;
 
-    private WholeNumberParser(Function<String, T> fn, String name) {
+    private WholeNumberParser(long min, long max, LongFunction<T> fn, String name) {
+        this.min = min;
+        this.max = max;
         this.fn = fn;
         this.name = name;
     }
 
     @Override
-    public Result<T, ParseError> parse(ParseState state) {
-        ParseState.Mark pos = state.mark();
+    public T parseDirect(ParseState state) {
+        long value = parse(state, min, max, name, false);
+        return state.hasError() ? null : fn.apply(value);
+    }
+
+    static byte parseByte(ParseState state) {
+        return (byte) parse(state, Byte.MIN_VALUE, Byte.MAX_VALUE, "byte", false);
+    }
+
+    static short parseShort(ParseState state) {
+        return (short) parse(state, Short.MIN_VALUE, Short.MAX_VALUE, "short", false);
+    }
+
+    static int parseInt(ParseState state) {
+        return (int) parse(state, Integer.MIN_VALUE, Integer.MAX_VALUE, "integer", false);
+    }
+
+    static long parseLong(ParseState state) {
+        return parse(state, Long.MIN_VALUE, Long.MAX_VALUE, "long", false);
+    }
+
+    /**
+     * Parses a whole number within {@code [min, max]} between double quotes, recording an error on
+     * {@code state} and returning 0 if it is malformed or out of range.
+     */
+    private static long parseQuoted(ParseState state, long min, long max, String name) {
+        if (state.current() != '"') {
+            state.fail(state.markIndex(), "Expected to find '\"'");
+            return 0;
+        }
+        state.next();
+        long value = parse(state, min, max, name, true);
+        if (state.hasError()) {
+            return 0;
+        }
+        if (state.current() != '"') {
+            state.fail(state.markIndex(), "Expected to find '\"'");
+            return 0;
+        }
+        state.next();
+        return value;
+    }
+
+    /**
+     * Accumulates the digits up to the next value boundary, or closing quote if {@code quoted},
+     * into a value within {@code [min, max]}, recording an error on {@code state} and returning 0
+     * if the value is malformed or out of range.
+     *
+     * <p>Digits are accumulated negatively, as in {@link Long#parseLong(String)}, so that {@code
+     * min} is reachable without overflowing; the multiply and subtract are checked against limits
+     * before they happen.
+     */
+    private static long parse(ParseState state, long min, long max, String name, boolean quoted) {
+        int pos = state.markIndex();
         int current = state.current();
-        while (!JsonParsers.isValueBoundary(current)) {
+        boolean negative = current == '-';
+        if (negative || current == '+') {
             current = state.next();
         }
-        try {
-            return Result.ok(fn.apply(state.slice(pos).toString()));
-        } catch (NumberFormatException nfe) {
-            return Result.error(pos.error("Cannot parse " + name + " from value"));
+
+        long limit = negative ? min : -max;
+        long multiplyLimit = limit / 10;
+        long result = 0;
+        boolean valid = !isEnd(current, quoted);
+        for (; !isEnd(current, quoted); current = state.next()) {
+            int digit = current - '0';
+            if (!valid || digit < 0 || digit > 9 || result < multiplyLimit) {
+                valid = false;
+                continue;
+            }
+            result *= 10;
+            if (result < limit + digit) {
+                valid = false;
+                continue;
+            }
+            result -= digit;
+        }
+
+        if (!valid) {
+            state.fail(pos, "Cannot parse " + name + " from value");
+            return 0;
         }
+        return negative ? result : -result;
+    }
+
+    private static boolean isEnd(int current, boolean quoted) {
+        return quoted
+                ? current == '"' || current == ParseState.EOS
+                : JsonParsers.isValueBoundary(current);
     }
 }
@@ -0,0 +1,64 @@
+package barista.serde.runtime.json;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+final class BufferRecyclerTests {
+    private final BufferRecycler recycler = new BufferRecycler(new int[] {16, 64}, 2);
+
+    @Test
+    void testAcquireRoundsUpToSizeClass() {
+        assertThat(recycler.acquire(1)).hasSize(16);
+        assertThat(recycler.acquire(16)).hasSize(16);
+        assertThat(recycler.acquire(17)).hasSize(64);
+        assertThat(recycler.acquire(65)).hasSize(65);
+    }
+
+    @Test
+    void testReusesReleasedBuffers() {
+        byte[] small = recycler.acquire(10);
+        byte[] large = recycler.acquire(40);
+        recycler.release(small);
+        recycler.release(large);
+
+        assertThat(recycler.acquire(40)).isSameAs(large);
+        assertThat(recycler.acquire(10)).isSameAs(small);
+        assertThat(recycler.acquire(10)).isNotSameAs(small);
+    }
+
+    @Test
+    void testRetentionIsBounded() {
+        List<byte[]> buffers = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            buffers.add(recycler.acquire(16));
+        }
+        buffers.forEach(recycler::release);
+
+        List<byte[]> reacquired = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            reacquired.add(recycler.acquire(16));
+        }
+        assertThat(reacquired.stream().filter(b -> buffers.stream().anyMatch(r -> r == b)))
+                .hasSize(2);
+    }
+
+    @Test
+    void testDropsOversizedAndForeignBuffers() {
+        byte[] oversized = recycler.acquire(100);
+        recycler.release(oversized);
+        recycler.release(new byte[20]);
+
+        assertThat(recycler.acquire(100)).isNotSameAs(oversized);
+        assertThat(recycler.acquire(20)).hasSize(64);
+    }
+
+    @Test
+    void testSlotsMustBePowerOfTwo() {
+        assertThatThrownBy(() -> new BufferRecycler(new int[] {16}, 3))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,59 @@
+package barista.serde.runtime.json;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import barista.serde.runtime.parsec.ParseState;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+
+final class FieldNamesTests {
+    private static final FieldNames NAMES = FieldNames.of("id", "in", "name", "caf\u00e9");
+
+    @Test
+    void testMatch() {
+        for (ParseState state : states("\"name\": 1")) {
+            assertThat(NAMES.match(state)).isEqualTo(2);
+            assertThat(state.current()).isEqualTo(':');
+        }
+        for (ParseState state : states("\"in\"")) {
+            assertThat(NAMES.match(state)).isEqualTo(1);
+            assertThat(state.isEndOfStream()).isTrue();
+        }
+    }
+
+    @Test
+    void testMatch_unknown() {
+        for (String key : new String[] {"\"ix\"", "\"\"", "\"names\"", "\"somethingLonger\""}) {
+            for (ParseState state : states(key)) {
+                assertThat(NAMES.match(state)).isEqualTo(FieldNames.UNKNOWN);
+                assertThat(state.isEndOfStream()).isTrue();
+            }
+        }
+    }
+
+    @Test
+    void testMatch_decodesEscapedAndNonAsciiKeys() {
+        for (String key : new String[] {"\"\\u0069d\"", "\"caf\u00e9\"", "\"id", "id"}) {
+            for (ParseState state : states(key)) {
+                assertThat(NAMES.match(state)).isEqualTo(FieldNames.DECODE);
+                assertThat(state.current()).isEqualTo(key.charAt(0));
+            }
+        }
+        assertThat(NAMES.indexOf("caf\u00e9")).isEqualTo(3);
+        assertThat(NAMES.indexOf("other")).isEqualTo(FieldNames.UNKNOWN);
+    }
+
+    @Test
+    void testDuplicateNames() {
+        assertThatThrownBy(() -> FieldNames.of("a", "b", "a"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Duplicate field name 'a'");
+    }
+
+    private static ParseState[] states(String json) {
+        return new ParseState[] {
+            ParseState.of(json), ParseState.of(json.getBytes(StandardCharsets.UTF_8))
+        };
+    }
+}
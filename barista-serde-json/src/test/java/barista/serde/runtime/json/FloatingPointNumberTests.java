@@ -2,7 +2,9 @@ package barista.serde.runtime.json;
 
 import static barista.serde.runtime.json.JsonParserAsserts.assertThatError;
 import static barista.serde.runtime.json.JsonParserAsserts.assertThatResult;
+import static org.assertj.core.api.Assertions.assertThat;
 
+import barista.serde.runtime.parsec.ParseState;
 import barista.serde.runtime.parsec.Parser;
 import org.junit.jupiter.api.Test;
 
@@ -60,4 +62,74 @@ final class FloatingPointNumberTests {
                     ^--^
                     """);
     }
+
+    @Test
+    void testDouble_correctlyRounded() {
+        Parser<Double> parser = JsonParsers.doubleParser();
+
+        for (String value :
+                new String[] {
+                    "0.1",
+                    "-12.5e-3",
+                    "9007199254740993",
+                    "1e23",
+                    "2.2250738585072011e-308",
+                    "4.9e-324",
+                    "2.4703282292062328e-324",
+                    "1.7976931348623157e308",
+                    "1.7976931348623159e308",
+                    "1e-400",
+                    // more significant digits than fit in a long, and exactly halfway
+                    "9007199254740992.50000000000000000001",
+                    "9007199254740993.0000000000000000000",
+                    "123456789012345678901234567890e-10"
+                }) {
+            assertThatResult(parser, value).isEqualTo(Double.parseDouble(value));
+        }
+        assertThatResult(parser, "-Infinity").isEqualTo(Double.NEGATIVE_INFINITY);
+        assertThatResult(parser, "0x1p3").isEqualTo(8.0);
+    }
+
+    @Test
+    void testFloat_correctlyRounded() {
+        Parser<Float> parser = JsonParsers.floatParser();
+
+        for (String value :
+                new String[] {
+                    "0.1",
+                    "16777217",
+                    "1.00000017881393432617187499",
+                    "3.4028235e38",
+                    "3.4028236e38",
+                    "1.4e-45",
+                    "7.0e-46",
+                    "7.1e-46",
+                    "1e-50"
+                }) {
+            assertThatResult(parser, value).isEqualTo(Float.parseFloat(value));
+        }
+    }
+
+    @Test
+    void testParseDouble_stopsAtValueBoundary() {
+        ParseState state = ParseState.of("[1.5e3,-0.25]");
+        state.next();
+        assertThat(JsonParsers.parseDouble(state)).isEqualTo(1500.0);
+        assertThat(state.current()).isEqualTo(',');
+        state.next();
+        assertThat(JsonParsers.parseFloat(state)).isEqualTo(-0.25f);
+        assertThat(state.current()).isEqualTo(']');
+        assertThat(state.hasError()).isFalse();
+    }
+
+    @Test
+    void testDouble_errorOnTruncatedExponent() {
+        assertThatError(JsonParsers.doubleParser(), "1.5e")
+                .contains(
+                        """
+                    Parse error at line 1, column 1: Cannot parse double from value:
+                    1.5e
+                    ^--^
+                    """);
+    }
 }
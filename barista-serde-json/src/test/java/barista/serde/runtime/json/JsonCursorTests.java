@@ -0,0 +1,173 @@
+package barista.serde.runtime.json;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import barista.serde.runtime.parsec.ParseError;
+import barista.serde.runtime.parsec.ParseState;
+import io.github.markelliot.result.Result;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+
+final class JsonCursorTests {
+    private static final String DOCUMENT =
+            """
+            {
+              "id": 7,
+              "payload": {"items": [[1, 2], {"x": "]}"}], "note": "a \\"quoted\\" }"},
+              "tags": ["a", "b", "c"],
+              "caf\\u00e9": true,
+              "routing": {"zone": {"name": "z"}, "region": "us-east-1"},
+              "ratio": 0.5
+            }
+            """;
+
+    @Test
+    void testReadsSelectedFields() {
+        for (ParseState state : states(DOCUMENT)) {
+            JsonCursor cursor = JsonCursor.of(state);
+            JsonCursor.ObjectCursor root = cursor.object();
+
+            assertThat(root.find("routing")).isTrue();
+            assertThat(cursor.type()).contains(JsonCursor.Type.OBJECT);
+            JsonCursor.ObjectCursor routing = cursor.object();
+            assertThat(routing.find("region")).isTrue();
+            assertThat(cursor.readString().unwrap()).isEqualTo("us-east-1");
+
+            assertThat(root.next()).isTrue();
+            assertThat(root.name()).isEqualTo("ratio");
+            assertThat(cursor.readDouble().unwrap()).isEqualTo(0.5);
+            assertThat(root.next()).isFalse();
+            assertThat(cursor.error()).isEmpty();
+            assertThat(state.isEndOfStream()).isFalse();
+            state.skipWhitespace();
+            assertThat(state.isEndOfStream()).isTrue();
+        }
+    }
+
+    @Test
+    void testVisitsEveryField() {
+        JsonCursor cursor = JsonCursor.of(ParseState.of(DOCUMENT));
+        JsonCursor.ObjectCursor root = cursor.object();
+        List<String> names = new ArrayList<>();
+        List<JsonCursor.Type> types = new ArrayList<>();
+        while (root.next()) {
+            names.add(root.name());
+            types.add(cursor.type().orElseThrow());
+        }
+
+        assertThat(names).containsExactly("id", "payload", "tags", "caf\u00e9", "routing", "ratio");
+        assertThat(types)
+                .containsExactly(
+                        JsonCursor.Type.NUMBER,
+                        JsonCursor.Type.OBJECT,
+                        JsonCursor.Type.ARRAY,
+                        JsonCursor.Type.BOOLEAN,
+                        JsonCursor.Type.OBJECT,
+                        JsonCursor.Type.NUMBER);
+        assertThat(cursor.error()).isEmpty();
+    }
+
+    @Test
+    void testSkipsAbandonedContainers() {
+        JsonCursor cursor = JsonCursor.of(ParseState.of(DOCUMENT));
+        JsonCursor.ObjectCursor root = cursor.object();
+        assertThat(root.find("payload")).isTrue();
+        JsonCursor.ObjectCursor payload = cursor.object();
+        assertThat(payload.next()).isTrue();
+        JsonCursor.ArrayCursor items = cursor.array();
+        assertThat(items.next()).isTrue();
+        cursor.array().next();
+
+        // leaves the payload from two levels down
+        assertThat(root.next()).isTrue();
+        assertThat(root.nameEquals("tags")).isTrue();
+        JsonCursor.ArrayCursor tags = cursor.array();
+        List<String> values = new ArrayList<>();
+        while (tags.next()) {
+            values.add(cursor.readString().unwrap());
+        }
+        assertThat(values).containsExactly("a", "b", "c");
+
+        assertThat(root.next()).isTrue();
+        assertThat(root.nameEquals("caf\u00e9")).isTrue();
+        assertThat(cursor.readBoolean().unwrap()).isTrue();
+        assertThat(cursor.error()).isEmpty();
+    }
+
+    @Test
+    void testReadsWholeValues() {
+        JsonCursor cursor = JsonCursor.of(ParseState.of(DOCUMENT));
+        JsonCursor.ObjectCursor root = cursor.object();
+        assertThat(root.find("id")).isTrue();
+        assertThat(cursor.readLong().unwrap()).isEqualTo(7L);
+        assertThat(root.find("routing")).isTrue();
+        assertThat(cursor.readAny().unwrap())
+                .isEqualTo(Map.of("zone", Map.of("name", "z"), "region", "us-east-1"));
+    }
+
+    @Test
+    void testReportsUnterminatedInput() {
+        JsonCursor cursor = JsonCursor.of(ParseState.of("{\"a\": [1, {\"b\": 2}, \"c\": 3"));
+        JsonCursor.ObjectCursor root = cursor.object();
+        assertThat(root.next()).isTrue();
+        assertThat(cursor.array().next()).isTrue();
+        assertThat(root.next()).isFalse();
+        assertThat(root.next()).isFalse();
+        assertThat(cursor.error().map(ParseError::errorString))
+                .contains(
+                        """
+            Parse error at line 1, column 26: Reached end of stream looking for ']' or '}':
+            {"a": [1, {"b": 2}, "c": 3
+                                     ^^
+            """);
+    }
+
+    @Test
+    void testReportsMissingSeparator() {
+        JsonCursor cursor = JsonCursor.of(ParseState.of("[1 2]"));
+        JsonCursor.ArrayCursor array = cursor.array();
+        assertThat(array.next()).isTrue();
+        assertThat(array.next()).isFalse();
+        assertThat(cursor.error().map(ParseError::errorString))
+                .contains(
+                        """
+            Parse error at line 1, column 4: Expected to find ',' or ']':
+            [1 2]
+               ^
+            """);
+    }
+
+    @Test
+    void testErrorsAreSticky() {
+        JsonCursor cursor = JsonCursor.of(ParseState.of("{\"a\": tru, \"b\": 1}"));
+        JsonCursor.ObjectCursor root = cursor.object();
+        assertThat(root.next()).isTrue();
+        Result<Boolean, ParseError> value = cursor.readBoolean();
+
+        assertThat(value.isError()).isTrue();
+        assertThat(root.next()).isFalse();
+        assertThat(cursor.readLong().error()).isEqualTo(value.error());
+        assertThat(cursor.error()).isEqualTo(value.error());
+    }
+
+    @Test
+    void testRejectsMismatchedContainer() {
+        JsonCursor cursor = JsonCursor.of(ParseState.of("[1]"));
+        assertThat(cursor.object().next()).isFalse();
+        assertThat(cursor.error().map(ParseError::message)).contains("Expected to find '{'");
+        assertThat(cursor.type()).isEqualTo(Optional.empty());
+    }
+
+    private static List<ParseState> states(String json) {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        return List.of(
+                ParseState.of(json),
+                ParseState.of(bytes),
+                ParseState.of(new ByteArrayInputStream(bytes), 16));
+    }
+}
@@ -2,12 +2,25 @@ package barista.serde.runtime.json;
 
 import static barista.serde.runtime.json.JsonParserAsserts.assertThatError;
 import static barista.serde.runtime.json.JsonParserAsserts.assertThatResult;
+import static org.assertj.core.api.Assertions.assertThat;
 
+import barista.serde.runtime.parsec.DirectParser;
 import barista.serde.runtime.parsec.Empty;
+import barista.serde.runtime.parsec.ParseError;
+import barista.serde.runtime.parsec.ParseState;
 import barista.serde.runtime.parsec.Parser;
+import barista.serde.runtime.parsec.Parsers;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.LinkedHashMap;
@@ -63,6 +76,76 @@ final class JsonParsersTests {
             """);
     }
 
+    @Test
+    void testPrimitiveArrays() {
+        assertThatResult(JsonParsers.intArray(), "[]").isEqualTo(new int[0]);
+        assertThatResult(JsonParsers.intArray(), "[ 1 , -2,3 ]").isEqualTo(new int[] {1, -2, 3});
+        assertThatResult(JsonParsers.longArray(), "[9007199254740993]")
+                .isEqualTo(new long[] {9007199254740993L});
+        assertThatResult(JsonParsers.floatArray(), "[0.1,1e3]").isEqualTo(new float[] {0.1f, 1e3f});
+        assertThatResult(JsonParsers.booleanArray(), "[true, false]")
+                .isEqualTo(new boolean[] {true, false});
+
+        double[] samples = new double[100];
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = i / 8.0;
+        }
+        StringBuilder json = new StringBuilder("[");
+        for (double sample : samples) {
+            json.append(json.length() > 1 ? "," : "").append(sample);
+        }
+        assertThatResult(JsonParsers.doubleArray(), json.append(']').toString()).isEqualTo(samples);
+    }
+
+    @Test
+    void testPrimitiveArrays_error() {
+        assertThatError(JsonParsers.intArray(), "[1,2.5]")
+                .contains(
+                        """
+            Parse error at line 1, column 4: Cannot parse integer from value:
+            [1,2.5]
+               ^-^
+            """);
+        assertThatError(JsonParsers.intArray(), "[1 2]")
+                .contains(
+                        """
+            Parse error at line 1, column 4: Expected to find ']':
+            [1 2]
+               ^
+            """);
+        assertThatError(JsonParsers.booleanArray(), "{}").isPresent();
+    }
+
+    @Test
+    void testNumericKeyMaps() {
+        assertThatResult(
+                        JsonParsers.integerKeyMap(JsonParsers.string(), LinkedHashMap::new),
+                        "{\"1\": \"a\", \"-20\":\"b\"}")
+                .isEqualTo(ImmutableMap.of(1, "a", -20, "b"));
+        assertThatResult(
+                        JsonParsers.longKeyMap(JsonParsers.integerParser(), LinkedHashMap::new),
+                        "{\"9007199254740993\":1}")
+                .isEqualTo(ImmutableMap.of(9007199254740993L, 1));
+        assertThatError(
+                        JsonParsers.integerKeyMap(JsonParsers.string(), LinkedHashMap::new),
+                        "{\"a\":\"b\"}")
+                .contains(
+                        """
+            Parse error at line 1, column 3: Cannot parse integer from value:
+            {"a":"b"}
+              ^^
+            """);
+        assertThatError(
+                        JsonParsers.integerKeyMap(JsonParsers.string(), LinkedHashMap::new),
+                        "{1:\"b\"}")
+                .contains(
+                        """
+            Parse error at line 1, column 2: Expected to find '"':
+            {1:"b"}
+             ^
+            """);
+    }
+
     @Test
     void testCollectionOfQuotedStrings() {
         Parser<Collection<String>> strings =
@@ -239,6 +322,101 @@ final class JsonParsersTests {
                 .isEqualTo(ImmutableList.of(ImmutableList.of("test")));
     }
 
+    @Test
+    void testSkip() {
+        String json =
+                "{\"a\": [1, -2.5e3, {\"b\": \"x\\\"}]\"}], \"c\": [true, false, null, []]} tail";
+        ParseState state = ParseState.of(json);
+        assertThat(JsonParsers.skip().parse(state).isError()).isFalse();
+        assertThat(state.slice(state.markIndex(), 5).toString()).isEqualTo(" tail");
+        assertThat(JsonParsers.skip().parse(ParseState.of("\"\"")).isError()).isFalse();
+        assertThat(JsonParsers.skip().parse(ParseState.of("{}")).isError()).isFalse();
+    }
+
+    @Test
+    void testSkip_error() {
+        assertThatError(JsonParsers.skip(), "[1, {\"a\": 2]]")
+                .contains(
+                        """
+            Parse error at line 1, column 12: Expected to find ',' or '}':
+            [1, {"a": 2]]
+                       ^
+            """);
+        assertThatError(JsonParsers.skip(), "{\"a\": nul}")
+                .contains(
+                        """
+            Parse error at line 1, column 7: Expected to find 'null':
+            {"a": nul}
+                  ^-^
+            """);
+        assertThatError(JsonParsers.skip(), "[1,]")
+                .contains(
+                        """
+            Parse error at line 1, column 4: Expected a JSON value:
+            [1,]
+               ^
+            """);
+        assertThatError(JsonParsers.skip(), "{\"a\": \"b}")
+                .contains(
+                        """
+            Parse error at line 1, column 8: Reached end of stream looking for terminal quote:
+            {"a": "b}
+                   ^^
+            """);
+    }
+
+    @Test
+    void testSkip_invalidUnicodeEscape() {
+        for (String json :
+                new String[] {"\"\\u0e9\"", "\"\\uZZZZ\"", "[\"a\", {\"\\u00\": 1}]", "\"\\u12"}) {
+            Optional<String> expected =
+                    JsonParsers.any()
+                            .parse(ParseState.of(json))
+                            .error()
+                            .map(ParseError::errorString);
+            assertThat(expected).isPresent();
+            assertThatError(JsonParsers.skip(), json).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void testAny_streaming() {
+        String json =
+                """
+            {"a": [1, 2, {"b": "a somewhat longer string value"}], "c": true, "d": null}
+            """;
+        Object expected = JsonParsers.any().parse(ParseState.of(json)).unwrap();
+
+        assertThat(
+                        JsonParsers.any()
+                                .parse(
+                                        ParseState.of(
+                                                new ByteArrayInputStream(
+                                                        json.getBytes(StandardCharsets.UTF_8)),
+                                                4))
+                                .unwrap())
+                .isEqualTo(expected);
+        assertThat(JsonParsers.any().parse(ParseState.of(new StringReader(json), 4)).unwrap())
+                .isEqualTo(expected);
+    }
+
+    @Test
+    void testCollection_mappedFile() throws IOException {
+        Path file = Files.createTempFile("json-parsers", ".json");
+        try {
+            Files.writeString(file, "[\"a\", \"b\", \"c\"]");
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                assertThat(
+                                JsonParsers.collection(JsonParsers.string(), ArrayList::new)
+                                        .parse(ParseState.of(channel))
+                                        .unwrap())
+                        .isEqualTo(ImmutableList.of("a", "b", "c"));
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
     record TestObj(String a, int b, double c, Collection<String> d) {}
 
     @Test
@@ -268,4 +446,66 @@ final class JsonParsersTests {
             """)
                 .isEqualTo(new TestObj("test", 1, 0.1, ImmutableList.of("a", "b", "c")));
     }
+
+    static final class TestObjBuilder implements ObjectBuilder<TestObj> {
+        private static final DirectParser<String> A = Parsers.direct(JsonParsers.string());
+        private static final DirectParser<Integer> B = Parsers.direct(JsonParsers.integerParser());
+        private static final DirectParser<Double> C = Parsers.direct(JsonParsers.doubleParser());
+        private static final DirectParser<ArrayList<String>> D =
+                Parsers.direct(JsonParsers.collection(JsonParsers.string(), ArrayList::new));
+
+        private String a;
+        private Integer b;
+        private Double c;
+        private Collection<String> d;
+
+        @Override
+        public void field(int field, ParseState state) {
+            switch (field) {
+                case 0 -> a = A.parseDirect(state);
+                case 1 -> b = B.parseDirect(state);
+                case 2 -> c = C.parseDirect(state);
+                case 3 -> d = D.parseDirect(state);
+                default -> JsonParsers.any().parse(state);
+            }
+        }
+
+        @Override
+        public TestObj build(ParseState state) {
+            if (b == null) {
+                state.fail(state.markIndex(), "Missing required field 'b'");
+                return null;
+            }
+            return new TestObj(a, b, c == null ? 0.0 : c, d);
+        }
+    }
+
+    @Test
+    void testObjectBuilder() {
+        Parser<TestObj> parser =
+                JsonParsers.object(FieldNames.of("a", "b", "c", "d"), TestObjBuilder::new);
+
+        assertThatResult(
+                        parser,
+                        """
+            {"e": { "foo": "bar" }, "a": "test", "b": 1, "c": 0.1, "d": ["a", "b", "c"]}
+            """)
+                .isEqualTo(new TestObj("test", 1, 0.1, ImmutableList.of("a", "b", "c")));
+        assertThatError(parser, "{ }")
+                .contains(
+                        """
+            Parse error at line 1, column 3: Missing required field 'b':
+            { }
+              ^
+            """);
+        assertThatResult(parser, "{\"\\u0062\": 2, \"bb\": 3}")
+                .isEqualTo(new TestObj(null, 2, 0.0, null));
+        assertThatError(parser, "{\"a\": \"test\"")
+                .contains(
+                        """
+            Parse error at line 1, column 12: Expected to find '}':
+            {"a": "test"
+                       ^^
+            """);
+    }
 }
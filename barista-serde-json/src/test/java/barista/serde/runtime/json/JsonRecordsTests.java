@@ -0,0 +1,135 @@
+package barista.serde.runtime.json;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import barista.serde.runtime.parsec.ParseError;
+import barista.serde.runtime.parsec.Parser;
+import io.github.markelliot.result.Result;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+
+final class JsonRecordsTests {
+    private static final Parser<Map<String, Object>> OBJECT =
+            JsonParsers.map(Function.identity(), JsonParsers.any(), HashMap::new);
+
+    @Test
+    void testReadsJsonLines() {
+        String json = "{\"a\": 1}\n{\"a\": \"x\\\"}\"}\r\n\n[1, [2]]\n";
+
+        for (int blockSize : new int[] {1, 3, 1024}) {
+            assertThat(values(json, JsonParsers.any(), blockSize))
+                    .containsExactly(
+                            Map.of("a", 1.0), Map.of("a", "x\"}"), List.of(1.0, List.of(2.0)));
+        }
+    }
+
+    @Test
+    void testReadsConcatenatedValues() {
+        String json = "{\"a\":1}{\"a\":2}[3]\"s\"4 true null{\"b\":\n{}}";
+
+        for (int blockSize : new int[] {1, 5, 1024}) {
+            assertThat(values(json, JsonParsers.any(), blockSize))
+                    .containsExactly(
+                            Map.of("a", 1.0),
+                            Map.of("a", 2.0),
+                            List.of(3.0),
+                            "s",
+                            4.0,
+                            true,
+                            Optional.empty(),
+                            Map.of("b", Map.of()));
+        }
+    }
+
+    @Test
+    void testReportsLineNumbers() {
+        String json =
+                """
+                {"a": 1}
+                {"a": tru}
+                {"a": 2} {"a":
+                  3,,}
+                4]
+                {"a": 5}
+                """;
+        List<String> results =
+                stream(json, OBJECT, 4)
+                        .map(result -> result.error().map(ParseError::errorString).orElse("ok"))
+                        .toList();
+
+        assertThat(results)
+                .containsExactly(
+                        "ok",
+                        """
+                        Parse error at line 2, column 7: Expected to find 'true':
+                        {"a": tru}
+                              ^-^
+                        """,
+                        "ok",
+                        """
+                        Parse error at line 4, column 5: Expected a quoted string and did not find a quote:
+                          3,,}
+                            ^
+                        """,
+                        """
+                        Parse error at line 5, column 1: Expected to find '{':
+                        4]
+                        ^
+                        """,
+                        "ok");
+    }
+
+    @Test
+    void testParsesInParallelInOrder() {
+        String json =
+                IntStream.range(0, 20_000)
+                        .mapToObj(i -> "{\"id\": " + i + ", \"name\": \"record " + i + "\"}")
+                        .collect(Collectors.joining("\n"));
+
+        List<Object> ids =
+                stream(json, OBJECT, 4096)
+                        .parallel()
+                        .map(result -> result.unwrap().get("id"))
+                        .toList();
+
+        assertThat(ids)
+                .isEqualTo(IntStream.range(0, 20_000).mapToObj(i -> (Object) (double) i).toList());
+    }
+
+    @Test
+    void testReadsFiles() throws IOException {
+        Path file = Files.createTempFile("json-records", ".jsonl");
+        try {
+            Files.writeString(file, "1\n2\n3\n");
+            try (Stream<Result<Object, ParseError>> results =
+                    JsonRecords.stream(file, JsonParsers.any())) {
+                assertThat(results.map(Result::unwrap).toList()).containsExactly(1.0, 2.0, 3.0);
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    private static <T> List<T> values(String json, Parser<T> parser, int blockSize) {
+        return stream(json, parser, blockSize).map(Result::unwrap).toList();
+    }
+
+    private static <T> Stream<Result<T, ParseError>> stream(
+            String json, Parser<T> parser, int blockSize) {
+        InputStream input = new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+        return JsonRecords.stream(input, parser, blockSize);
+    }
+}
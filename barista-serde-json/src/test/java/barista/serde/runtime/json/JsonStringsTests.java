@@ -21,9 +21,25 @@ final class JsonStringsTests {
         assertThat(JsonStrings.unescape("\\u0001").toString()).isEqualTo("\1");
     }
 
+    @Test
+    public void testUnescape_adjacentEscapes() {
+        assertThat(JsonStrings.unescape("\\\\\\\"").toString()).isEqualTo("\\\"");
+        assertThat(JsonStrings.unescape("a\\n\\tb\\u0041\\u0042").toString()).isEqualTo("a\n\tbAB");
+        assertThat(JsonStrings.unescape("\\ud83d\\ude00").toString()).isEqualTo("\ud83d\ude00");
+    }
+
+    @Test
+    public void testUnescape_noEscapesReturnsInput() {
+        String value = "no escapes here";
+        assertThat(JsonStrings.unescape(value)).isSameAs(value);
+    }
+
     @Test
     public void testUnescape_invalidEscapeSeq() {
         assertThat(JsonStrings.unescape("\\k").toString()).isEqualTo("\\k");
+        assertThat(JsonStrings.unescape("\\u12x4").toString()).isEqualTo("\\u12x4");
+        assertThat(JsonStrings.unescape("\\u12").toString()).isEqualTo("\\u12");
+        assertThat(JsonStrings.unescape("trailing\\").toString()).isEqualTo("trailing\\");
     }
 
     @Test
@@ -46,4 +62,23 @@ final class JsonStringsTests {
         assertThat(JsonStrings.escape("test\u0000test")).isEqualTo("test\\u0000test");
         assertThat(JsonStrings.escape("a\\b/c\"d")).isEqualTo("a\\\\b\\/c\\\"d");
     }
+
+    @Test
+    void testEscape_withoutSlash() {
+        assertThat(JsonStrings.escape("http://a/b", false)).isEqualTo("http://a/b");
+        assertThat(JsonStrings.escape("http://a/b\n", false)).isEqualTo("http://a/b\\n");
+        assertThat(JsonStrings.escape("http://a/b", true)).isEqualTo("http:\\/\\/a\\/b");
+    }
+
+    @Test
+    void testEscape_returnsInputWithoutEscapes() {
+        String value = "no escapes \u00e9\u2615";
+        assertThat(JsonStrings.escape(value)).isSameAs(value);
+    }
+
+    @Test
+    void testEscape_runs() {
+        assertThat(JsonStrings.escape("\"\"abc\u001f\u00e9\""))
+                .isEqualTo("\\\"\\\"abc\\u001f\u00e9\\\"");
+    }
 }
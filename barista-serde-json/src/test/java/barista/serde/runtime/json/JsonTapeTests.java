@@ -0,0 +1,118 @@
+package barista.serde.runtime.json;
+
+import static barista.serde.runtime.json.JsonParserAsserts.assertThatError;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import barista.serde.runtime.parsec.ParseState;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+final class JsonTapeTests {
+    private static final String DOCUMENT =
+            """
+            {
+              "name": "caf\\u00e9 \\"quoted\\"",
+              "replicas": 3,
+              "ratio": -0.25,
+              "enabled": true,
+              "owner": null,
+              "ports": [80, 443, {"admin": [8080]}, []],
+              "labels": {},
+              "name": "renamed"
+            }
+            """;
+
+    @Test
+    void testConvertsAsAnyWould() {
+        Object expected = JsonParsers.any().parse(ParseState.of(DOCUMENT)).unwrap();
+
+        assertThat(tape(DOCUMENT).toObject()).isEqualTo(expected);
+        assertThat(
+                        JsonParsers.tape()
+                                .parse(ParseState.of(DOCUMENT.getBytes(StandardCharsets.UTF_8)))
+                                .unwrap()
+                                .toObject())
+                .isEqualTo(expected);
+        assertThat(tape(" 12.5 ").toObject()).isEqualTo(12.5);
+        assertThat(tape("[]").toObject()).isEqualTo(List.of());
+    }
+
+    @Test
+    void testNavigatesInPlace() {
+        JsonTape.Element root = tape(DOCUMENT).root();
+
+        assertThat(root.type()).isEqualTo(JsonCursor.Type.OBJECT);
+        assertThat(root.size()).isEqualTo(8);
+        assertThat(root.get("name").orElseThrow().asString()).isEqualTo("renamed");
+        assertThat(root.get("replicas").orElseThrow().asDouble()).isEqualTo(3);
+        assertThat(root.get("ratio").orElseThrow().asDouble()).isEqualTo(-0.25);
+        assertThat(root.get("enabled").orElseThrow().asBoolean()).isTrue();
+        assertThat(root.get("owner").orElseThrow().isNull()).isTrue();
+        assertThat(root.get("missing")).isEmpty();
+        assertThat(root.get("labels").orElseThrow().size()).isZero();
+        assertThat(root.fields().keySet())
+                .containsExactly(
+                        "name", "replicas", "ratio", "enabled", "owner", "ports", "labels");
+
+        JsonTape.Element ports = root.get("ports").orElseThrow();
+        assertThat(ports.size()).isEqualTo(4);
+        assertThat(ports.get(1).asDouble()).isEqualTo(443);
+        assertThat(ports.get(2).get("admin").orElseThrow().get(0).asDouble()).isEqualTo(8080);
+        assertThat(ports.elements())
+                .extracting(JsonTape.Element::type)
+                .containsExactly(
+                        JsonCursor.Type.NUMBER,
+                        JsonCursor.Type.NUMBER,
+                        JsonCursor.Type.OBJECT,
+                        JsonCursor.Type.ARRAY);
+        assertThat(ports.get(3).toObject()).isEqualTo(List.of());
+        assertThat(ports.get(2).toObject()).isEqualTo(Map.of("admin", List.of(8080.0)));
+    }
+
+    @Test
+    void testRejectsMismatchedAccess() {
+        JsonTape.Element root = tape(DOCUMENT).root();
+
+        assertThatThrownBy(() -> root.get(0))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Expected ARRAY but found OBJECT");
+        assertThatThrownBy(() -> root.get("ratio").orElseThrow().asString())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Expected STRING but found NUMBER");
+        assertThatThrownBy(() -> root.get("ports").orElseThrow().get(4))
+                .isInstanceOf(IndexOutOfBoundsException.class)
+                .hasMessage("Index 4 out of bounds for length 4");
+    }
+
+    @Test
+    void testReportsErrors() {
+        assertThatError(JsonParsers.tape(), "{\"a\": [1, 2}")
+                .contains(
+                        """
+            Parse error at line 1, column 12: Expected to find ',' or ']':
+            {"a": [1, 2}
+                       ^
+            """);
+        assertThatError(JsonParsers.tape(), "{\"a\" 1}")
+                .contains(
+                        """
+            Parse error at line 1, column 6: Expected to find ':':
+            {"a" 1}
+                 ^
+            """);
+        assertThatError(JsonParsers.tape(), "[tru]")
+                .contains(
+                        """
+            Parse error at line 1, column 2: Expected to find 'true':
+            [tru]
+             ^-^
+            """);
+    }
+
+    private static JsonTape tape(String json) {
+        return JsonParsers.tape().parse(ParseState.of(json)).unwrap();
+    }
+}
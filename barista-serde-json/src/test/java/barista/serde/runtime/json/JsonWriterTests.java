@@ -0,0 +1,272 @@
+package barista.serde.runtime.json;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+final class JsonWriterTests {
+    @Test
+    void testSeparators() {
+        JsonWriter writer = new JsonWriter();
+        writer.beginObject()
+                .name("a")
+                .value(1)
+                .name("b")
+                .beginArray()
+                .value(true)
+                .nullValue()
+                .beginObject()
+                .endObject()
+                .beginArray()
+                .endArray()
+                .endArray()
+                .name("c")
+                .value("d")
+                .endObject();
+        assertThat(writer.toString()).isEqualTo("{\"a\":1,\"b\":[true,null,{},[]],\"c\":\"d\"}");
+        assertThat(writer.size()).isEqualTo(writer.toString().length());
+    }
+
+    @Test
+    void testTopLevelValues() {
+        JsonWriter writer = new JsonWriter();
+        writer.value(1).value("a");
+        assertThat(writer.toJson().value()).isEqualTo("1,\"a\"");
+    }
+
+    @Test
+    void testWholeNumbers() {
+        for (long value :
+                new long[] {
+                    0,
+                    1,
+                    -1,
+                    9,
+                    10,
+                    99,
+                    100,
+                    Integer.MIN_VALUE,
+                    Integer.MAX_VALUE,
+                    999_999_999_999_999_999L,
+                    1_000_000_000_000_000_000L,
+                    Long.MIN_VALUE,
+                    Long.MAX_VALUE
+                }) {
+            assertThat(new JsonWriter().value(value).toString()).isEqualTo(Long.toString(value));
+        }
+    }
+
+    @Test
+    void testStrings() {
+        assertThat(new JsonWriter().value("a\\b/c\"d\n\u0001\u00e9").toString())
+                .isEqualTo("\"a\\\\b\\/c\\\"d\\n\\u0001\u00e9\"");
+        assertThat(new JsonWriter().value((String) null).toString()).isEqualTo("null");
+        assertThat(new JsonWriter().value('"').toString()).isEqualTo("\"\\\"\"");
+    }
+
+    @Test
+    void testGrowsBuffer() {
+        JsonWriter writer = new JsonWriter(1);
+        String value = "x".repeat(1000);
+        writer.beginArray().value(value).value("\n".repeat(100)).endArray();
+        assertThat(writer.toString())
+                .isEqualTo("[\"" + value + "\",\"" + "\\n".repeat(100) + "\"]");
+    }
+
+    @Test
+    void testUtf8Output() {
+        String value = "a\u00e9\u2615\ud83d\ude00\ud83d.\ude00\"";
+        JsonWriter writer = new JsonWriter();
+        writer.beginObject().name(JsonWriter.encodeName("k\u00fc")).value(value).endObject();
+        String expected = "{\"k\u00fc\":\"a\u00e9\u2615\ud83d\ude00?.?\\\"\"}";
+
+        assertThat(writer.toByteArray()).isEqualTo(expected.getBytes(StandardCharsets.UTF_8));
+        assertThat(writer.toString()).isEqualTo(expected);
+        assertThat(writer.size()).isEqualTo(expected.getBytes(StandardCharsets.UTF_8).length);
+    }
+
+    @Test
+    void testRawValue() {
+        JsonWriter writer = new JsonWriter();
+        writer.beginArray().rawValue(new JsonCharSeq("{\"\u00e9\":1}")).value(2).endArray();
+        assertThat(writer.toString()).isEqualTo("[{\"\u00e9\":1},2]");
+    }
+
+    @Test
+    void testWriteTo() throws IOException {
+        JsonWriter writer = new JsonWriter();
+        writer.beginArray().value("\u00e9").endArray();
+        byte[] expected = "[\"\u00e9\"]".getBytes(StandardCharsets.UTF_8);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.writeTo(out);
+        assertThat(out.toByteArray()).isEqualTo(expected);
+
+        ByteBuffer buffer = ByteBuffer.allocate(16);
+        writer.writeTo(buffer);
+        assertThat(Arrays.copyOf(buffer.array(), buffer.position())).isEqualTo(expected);
+    }
+
+    @Test
+    void testSlashEscapingOption() {
+        assertThat(new JsonWriter().value("a/b").toString()).isEqualTo("\"a\\/b\"");
+        assertThat(new JsonWriter(16, false).value("http://a/b\t").toString())
+                .isEqualTo("\"http://a/b\\t\"");
+    }
+
+    @Test
+    void testDoubles() {
+        assertThat(new JsonWriter().value(0.0).toString()).isEqualTo("0.0");
+        assertThat(new JsonWriter().value(-0.0).toString()).isEqualTo("-0.0");
+        assertThat(new JsonWriter().value(1.0).toString()).isEqualTo("1.0");
+        assertThat(new JsonWriter().value(100.0).toString()).isEqualTo("100.0");
+        assertThat(new JsonWriter().value(-1.5).toString()).isEqualTo("-1.5");
+        assertThat(new JsonWriter().value(0.1).toString()).isEqualTo("0.1");
+        assertThat(new JsonWriter().value(0.001).toString()).isEqualTo("0.001");
+        assertThat(new JsonWriter().value(1.1e-4).toString()).isEqualTo("1.1E-4");
+        assertThat(new JsonWriter().value(1234567.5).toString()).isEqualTo("1234567.5");
+        assertThat(new JsonWriter().value(1e7).toString()).isEqualTo("1.0E7");
+        assertThat(new JsonWriter().value(1.25e300).toString()).isEqualTo("1.25E300");
+        assertThat(new JsonWriter().value(Double.MIN_VALUE).toString()).isEqualTo("4.9E-324");
+        assertThat(new JsonWriter().value(Double.MAX_VALUE).toString())
+                .isEqualTo("1.7976931348623157E308");
+        assertThat(new JsonWriter().value(-Double.MIN_NORMAL).toString())
+                .isEqualTo("-2.2250738585072014E-308");
+        assertThat(new JsonWriter().value(Double.NaN).toString()).isEqualTo("NaN");
+        assertThat(new JsonWriter().value(Double.NEGATIVE_INFINITY).toString())
+                .isEqualTo("-Infinity");
+
+        // shortest, where Double.toString before JDK 19 was not
+        assertThat(new JsonWriter().value(1e23).toString()).isEqualTo("1.0E23");
+        assertThat(new JsonWriter().value(2.82879384806159e17).toString())
+                .isEqualTo("2.82879384806159E17");
+    }
+
+    @Test
+    void testFloats() {
+        assertThat(new JsonWriter().value(0f).toString()).isEqualTo("0.0");
+        assertThat(new JsonWriter().value(1.5f).toString()).isEqualTo("1.5");
+        assertThat(new JsonWriter().value(0.1f).toString()).isEqualTo("0.1");
+        assertThat(new JsonWriter().value(1e-5f).toString()).isEqualTo("1.0E-5");
+        assertThat(new JsonWriter().value(1.0e10f).toString()).isEqualTo("1.0E10");
+        assertThat(new JsonWriter().value(Float.MIN_VALUE).toString()).isEqualTo("1.4E-45");
+        assertThat(new JsonWriter().value(Float.MAX_VALUE).toString()).isEqualTo("3.4028235E38");
+        assertThat(new JsonWriter().value(-Float.MIN_NORMAL).toString())
+                .isEqualTo("-1.1754944E-38");
+        assertThat(new JsonWriter().value(Float.POSITIVE_INFINITY).toString())
+                .isEqualTo("Infinity");
+    }
+
+    @Test
+    void testFloatingPointRoundTrips() {
+        SplittableRandom random = new SplittableRandom(0);
+        for (int i = 0; i < 100_000; i++) {
+            double value = Double.longBitsToDouble(random.nextLong());
+            String written = new JsonWriter().value(value).toString();
+            assertThat(Double.parseDouble(written)).isEqualTo(value);
+            assertThat(written.length()).isLessThanOrEqualTo(Double.toString(value).length());
+
+            float floatValue = Float.intBitsToFloat(random.nextInt());
+            String floatWritten = new JsonWriter().value(floatValue).toString();
+            assertThat(Float.parseFloat(floatWritten)).isEqualTo(floatValue);
+            assertThat(floatWritten.length())
+                    .isLessThanOrEqualTo(Float.toString(floatValue).length());
+        }
+    }
+
+    @Test
+    void testRecycledWriter() {
+        String value = "x".repeat(50_000);
+        String expected = "[\"" + value + "\",1]";
+        for (int i = 0; i < 3; i++) {
+            try (JsonWriter writer = JsonWriter.recycled()) {
+                writer.beginArray().value(value).value(1).endArray();
+                assertThat(writer.toString()).isEqualTo(expected);
+            }
+        }
+    }
+
+    @Test
+    void testRecycledWritersInParallel() {
+        List<String> results =
+                IntStream.range(0, 10_000)
+                        .parallel()
+                        .mapToObj(
+                                i -> {
+                                    try (JsonWriter writer = JsonWriter.recycled(false)) {
+                                        return writer.beginArray()
+                                                .value(i)
+                                                .value("/".repeat(i % 100))
+                                                .endArray()
+                                                .toString();
+                                    }
+                                })
+                        .toList();
+        for (int i = 0; i < results.size(); i++) {
+            assertThat(results.get(i)).isEqualTo("[" + i + ",\"" + "/".repeat(i % 100) + "\"]");
+        }
+    }
+
+    @Test
+    void testStreamingWriterFlushesAsItGoes() {
+        ByteArrayOutputStream sink = new ByteArrayOutputStream();
+        StringBuilder expected = new StringBuilder("[");
+        int maxBuffered = 0;
+        try (JsonWriter writer = JsonWriter.streaming(sink)) {
+            writer.beginArray();
+            for (int i = 0; i < 100_000; i++) {
+                writer.value("value/" + i);
+                expected.append(i == 0 ? "" : ",").append("\"value\\/").append(i).append('"');
+                maxBuffered = Math.max(maxBuffered, writer.size());
+            }
+            writer.endArray();
+            assertThat(sink.size()).isPositive();
+        }
+        expected.append(']');
+
+        assertThat(sink.toString(StandardCharsets.UTF_8)).isEqualTo(expected.toString());
+        assertThat(maxBuffered).isLessThanOrEqualTo(32 << 10);
+    }
+
+    @Test
+    void testStreamingWriterFlush() {
+        ByteArrayOutputStream sink = new ByteArrayOutputStream();
+        JsonWriter writer = JsonWriter.streaming(sink, false);
+        writer.beginArray().value("a/b");
+        assertThat(sink.size()).isZero();
+
+        writer.flush();
+        assertThat(sink.toString(StandardCharsets.UTF_8)).isEqualTo("[\"a/b\"");
+        assertThat(writer.size()).isZero();
+
+        writer.value(1).endArray().close();
+        assertThat(sink.toString(StandardCharsets.UTF_8)).isEqualTo("[\"a/b\",1]");
+    }
+
+    @Test
+    void testStreamingWriterReportsFailures() {
+        OutputStream failing =
+                new OutputStream() {
+                    @Override
+                    public void write(int unit) throws IOException {
+                        throw new IOException("closed");
+                    }
+                };
+        JsonWriter writer = JsonWriter.streaming(failing);
+        writer.value("x");
+        assertThatThrownBy(writer::flush)
+                .isInstanceOf(UncheckedIOException.class)
+                .hasMessageContaining("closed");
+    }
+}
@@ -0,0 +1,53 @@
+package barista.serde.runtime.json;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import barista.serde.runtime.parsec.ParseState;
+import org.junit.jupiter.api.Test;
+
+final class ProjectionTests {
+    private static final FieldNames NAMES = FieldNames.of("mode", "jobs", "primaryView");
+
+    @Test
+    void testParsesPaths() {
+        Projection projection =
+                Projection.of("jobs[].name", "jobs[].url", "primaryView.url", "primaryView");
+
+        assertThat(projection.isAll()).isFalse();
+        assertThat(projection.includes("jobs")).isTrue();
+        assertThat(projection.includes("mode")).isFalse();
+        assertThat(projection.field("primaryView").isAll()).isTrue();
+        assertThat(projection.field("jobs").includes("name")).isTrue();
+        assertThat(projection.field("jobs").includes("color")).isFalse();
+        assertThat(projection.field("mode").includes("name")).isFalse();
+        assertThat(Projection.of("jobs.name").field("jobs").includes("name")).isTrue();
+    }
+
+    @Test
+    void testRejectsInvalidPaths() {
+        assertThatThrownBy(() -> Projection.of("jobs..name"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid projection path '.name'");
+        assertThatThrownBy(() -> Projection.of("jobs[0].name"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid projection path 'jobs[0].name'");
+        assertThatThrownBy(() -> Projection.of("color").select(NAMES))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Cannot project unknown field 'color'");
+    }
+
+    @Test
+    void testSelectsFields() {
+        Projection projection = Projection.of("primaryView.url");
+        FieldNames selected = projection.select(NAMES);
+
+        assertThat(selected.indexOf("primaryView")).isEqualTo(2);
+        assertThat(selected.indexOf("jobs")).isEqualTo(FieldNames.UNKNOWN);
+        assertThat(selected.match(ParseState.of("\"primaryView\""))).isEqualTo(2);
+        assertThat(selected.match(ParseState.of("\"mode\""))).isEqualTo(FieldNames.UNKNOWN);
+        assertThat(projection.excluded(NAMES, 0)).isEqualTo(0b011L);
+        assertThat(Projection.all().select(NAMES)).isSameAs(NAMES);
+        assertThat(Projection.all().excluded(NAMES, 0)).isZero();
+    }
+}
@@ -0,0 +1,46 @@
+package barista.serde.runtime.json;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+final class SerializationCacheTests {
+    private final AtomicInteger encodings = new AtomicInteger();
+
+    @Test
+    void testReusesEncodingOfEqualValues() {
+        SerializationCache<String> cache = new SerializationCache<>(8);
+        byte[] first = cache.computeIfAbsent("abc", this::encode);
+
+        assertThat(cache.computeIfAbsent(new String("abc"), this::encode)).isSameAs(first);
+        assertThat(cache.get("abc")).isSameAs(first);
+        assertThat(cache.get("abd")).isNull();
+        assertThat(encodings).hasValue(1);
+    }
+
+    @Test
+    void testEvictsOnCollision() {
+        // "Aa" and "BB" share a hash code, and so a slot
+        SerializationCache<String> cache = new SerializationCache<>(1);
+        cache.computeIfAbsent("Aa", this::encode);
+        cache.computeIfAbsent("BB", this::encode);
+
+        assertThat(cache.get("Aa")).isNull();
+        assertThat(cache.get("BB")).isEqualTo("\"BB\"".getBytes(StandardCharsets.UTF_8));
+        assertThat(encodings).hasValue(2);
+    }
+
+    @Test
+    void testCapacityMustBePositive() {
+        assertThatThrownBy(() -> new SerializationCache<>(0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private byte[] encode(String value) {
+        encodings.incrementAndGet();
+        return new JsonWriter().value(value).toByteArray();
+    }
+}
@@ -1,8 +1,12 @@
 package barista.serde.runtime.json;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import com.google.common.collect.ImmutableMap;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -10,6 +14,14 @@ import java.util.OptionalDouble;
 import java.util.OptionalInt;
 import java.util.OptionalLong;
 import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.Test;
 
 final class SerializersTests {
@@ -225,4 +237,240 @@ final class SerializersTests {
                                 .value())
                 .isEqualTo("{}");
     }
+
+    @Test
+    void testSerializeToWriter() {
+        JsonWriter writer = new JsonWriter();
+        writer.beginArray();
+        Serializers.serialize((Integer) null, writer);
+        Serializers.serialize(1.5, writer);
+        Serializers.serialize(OptionalLong.empty(), writer);
+        Serializers.serialize(Optional.of("a"), Serializers::serialize, writer);
+        Serializers.serialize(
+                List.of(List.of(1), List.<Integer>of()),
+                (v, w) -> Serializers.serialize(v, Serializers::serialize, w),
+                writer);
+        Serializers.serialize(
+                ImmutableMap.of("a", 1, "b", 2),
+                Serializers::serialize,
+                Serializers::serialize,
+                writer);
+        Serializers.serialize((Map<String, Integer>) null, (k, w) -> {}, (v, w) -> {}, writer);
+        writer.endArray();
+        assertThat(writer.toString())
+                .isEqualTo("[null,1.5,null,\"a\",[[1],[]],{\"a\":1,\"b\":2},null]");
+    }
+
+    @Test
+    void testSerializedLengthMatchesWriter() {
+        SplittableRandom random = new SplittableRandom(0);
+        for (int i = 0; i < 10_000; i++) {
+            long whole = random.nextLong() >> random.nextInt(64);
+            double dbl = Double.longBitsToDouble(random.nextLong());
+            float flt = Float.intBitsToFloat(random.nextInt());
+            String str = randomString(random);
+            char ch = (char) random.nextInt(Character.MAX_VALUE + 1);
+
+            assertThat(Serializers.serializedLength(whole)).isEqualTo(written(w -> w.value(whole)));
+            assertThat(Serializers.serializedLength((int) whole))
+                    .isEqualTo(written(w -> w.value((int) whole)));
+            assertThat(Serializers.serializedLength(dbl)).isEqualTo(written(w -> w.value(dbl)));
+            assertThat(Serializers.serializedLength(flt)).isEqualTo(written(w -> w.value(flt)));
+            assertThat(Serializers.serializedLength(str)).isEqualTo(written(w -> w.value(str)));
+            assertThat(Serializers.serializedLength(ch)).isEqualTo(written(w -> w.value(ch)));
+        }
+        assertThat(Serializers.serializedLength(Long.MIN_VALUE)).isEqualTo(20);
+        assertThat(Serializers.serializedLength((String) null)).isEqualTo(4);
+        assertThat(Serializers.serializedLength(false)).isEqualTo(5);
+    }
+
+    @Test
+    void testSerializedLengthOfContainers() {
+        Map<String, List<Integer>> map = ImmutableMap.of("a", List.of(1, 22), "b/", List.of());
+        assertThat(
+                        Serializers.serializedLength(
+                                map,
+                                Serializers::serializedLength,
+                                v ->
+                                        Serializers.serializedLength(
+                                                v, Serializers::serializedLength)))
+                .isEqualTo(
+                        written(
+                                w ->
+                                        Serializers.serialize(
+                                                map,
+                                                Serializers::serialize,
+                                                (v, w2) ->
+                                                        Serializers.serialize(
+                                                                v, Serializers::serialize, w2),
+                                                w)));
+        assertThat(Serializers.serializedLength(List.<String>of(), Serializers::serializedLength))
+                .isEqualTo(2);
+        assertThat(Serializers.serializedLength(Optional.empty(), v -> 1)).isEqualTo(4);
+        assertThat(Serializers.serializedLength(OptionalDouble.of(0.5))).isEqualTo(3);
+    }
+
+    @Test
+    void testPrimitiveArrays() {
+        assertThat(written(new int[] {1, -2}, Serializers::serialize)).isEqualTo("[1,-2]");
+        assertThat(written(new long[] {Long.MIN_VALUE}, Serializers::serialize))
+                .isEqualTo("[-9223372036854775808]");
+        assertThat(written(new float[] {0.1f, 1e10f}, Serializers::serialize))
+                .isEqualTo("[0.1,1.0E10]");
+        assertThat(written(new double[] {}, Serializers::serialize)).isEqualTo("[]");
+        assertThat(written(new boolean[] {true, false}, Serializers::serialize))
+                .isEqualTo("[true,false]");
+        assertThat(written((int[]) null, Serializers::serialize)).isEqualTo("null");
+
+        assertThat(Serializers.serializedLength(new int[] {1, -2})).isEqualTo(6);
+        assertThat(Serializers.serializedLength(new float[] {0.1f, 1e10f})).isEqualTo(12);
+        assertThat(Serializers.serializedLength(new double[] {})).isEqualTo(2);
+        assertThat(Serializers.serializedLength(new boolean[] {true, false})).isEqualTo(12);
+        assertThat(Serializers.serializedLength((long[]) null)).isEqualTo(4);
+    }
+
+    @Test
+    void testNumericKeys() {
+        Map<Integer, String> map = ImmutableMap.of(1, "a", -20, "b");
+        String json =
+                written(
+                        map,
+                        (m, w) ->
+                                Serializers.serialize(
+                                        m, Serializers::serializeKey, Serializers::serialize, w));
+        assertThat(json).isEqualTo("{\"1\":\"a\",\"-20\":\"b\"}");
+        assertThat(
+                        Serializers.serializedLength(
+                                map,
+                                Serializers::serializedKeyLength,
+                                Serializers::serializedLength))
+                .isEqualTo(json.length());
+    }
+
+    private static <T> String written(T value, BiConsumer<T, JsonWriter> serializer) {
+        JsonWriter writer = new JsonWriter();
+        serializer.accept(value, writer);
+        return writer.toString();
+    }
+
+    @Test
+    void testParallelCollections() {
+        List<String> items = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            items.add("item/" + i);
+        }
+        String sequential =
+                written(items, (c, w) -> Serializers.serialize(c, Serializers::serialize, w));
+
+        assertThat(written(items, (c, w) -> Serializers.serialize(c, Serializers::serialize, 1, w)))
+                .isEqualTo(sequential);
+        assertThat(
+                        written(
+                                new LinkedHashSet<>(items),
+                                (c, w) -> Serializers.serialize(c, Serializers::serialize, 1, w)))
+                .isEqualTo(sequential);
+        assertThat(
+                        written(
+                                List.of("a", "b"),
+                                (c, w) -> Serializers.serialize(c, Serializers::serialize, 1, w)))
+                .isEqualTo("[\"a\",\"b\"]");
+        assertThat(
+                        written(
+                                List.<String>of(),
+                                (c, w) -> Serializers.serialize(c, Serializers::serialize, 1, w)))
+                .isEqualTo("[]");
+
+        JsonWriter writer = new JsonWriter(16, false);
+        writer.beginArray().value(true);
+        Serializers.serialize(items, Serializers::serialize, 1000, writer);
+        writer.endArray();
+        assertThat(writer.toString()).isEqualTo("[true," + sequential.replace("\\/", "/") + "]");
+    }
+
+    @Test
+    void testParallelCollections_throwingSerializer() {
+        List<Integer> items = IntStream.range(0, 4096).boxed().toList();
+        AtomicInteger writes = new AtomicInteger();
+        BiConsumer<Integer, JsonWriter> serializer =
+                (item, w) -> {
+                    if (item == 100) {
+                        throw new IllegalArgumentException("item " + item);
+                    }
+                    writes.incrementAndGet();
+                    Serializers.serialize(item, w);
+                };
+
+        JsonWriter writer = new JsonWriter();
+        assertThatThrownBy(() -> Serializers.serialize(items, serializer, 1, writer))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("item 100");
+        // every chunk finished before the failure was rethrown and their buffers released
+        int written = writes.get();
+        ForkJoinPool.commonPool().awaitQuiescence(10, TimeUnit.SECONDS);
+        assertThat(writes.get()).isEqualTo(written);
+        assertThat(writer.size()).isZero();
+    }
+
+    @Test
+    void testStreamedItems() {
+        assertThat(
+                        written(
+                                IntStream.range(0, 3).boxed(),
+                                (items, w) ->
+                                        Serializers.serialize(items, Serializers::serialize, w)))
+                .isEqualTo("[0,1,2]");
+        assertThat(
+                        written(
+                                List.of("a", "b").iterator(),
+                                (items, w) ->
+                                        Serializers.serialize(items, Serializers::serialize, w)))
+                .isEqualTo("[\"a\",\"b\"]");
+        Iterable<String> iterable = () -> List.of("c").iterator();
+        assertThat(
+                        written(
+                                iterable,
+                                (items, w) ->
+                                        Serializers.serialize(items, Serializers::serialize, w)))
+                .isEqualTo("[\"c\"]");
+        assertThat(
+                        written(
+                                (Stream<String>) null,
+                                (items, w) ->
+                                        Serializers.serialize(items, Serializers::serialize, w)))
+                .isEqualTo("null");
+    }
+
+    @Test
+    void testSerializeToBytes() {
+        byte[] bytes =
+                Serializers.serializeToBytes(
+                        Stream.of(1, 2),
+                        (items, w) -> Serializers.serialize(items, Serializers::serialize, w));
+        assertThat(new String(bytes, StandardCharsets.UTF_8)).isEqualTo("[1,2]");
+        assertThat(
+                        Serializers.serializeToBytes(
+                                "x", Serializers::serializedLength, Serializers::serialize))
+                .isEqualTo("\"x\"".getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static int written(Consumer<JsonWriter> write) {
+        JsonWriter writer = new JsonWriter();
+        write.accept(writer);
+        return writer.size();
+    }
+
+    private static String randomString(SplittableRandom random) {
+        StringBuilder sb = new StringBuilder();
+        int length = random.nextInt(20);
+        for (int i = 0; i < length; i++) {
+            sb.append(
+                    switch (random.nextInt(4)) {
+                        case 0 -> (char) random.nextInt(0x80);
+                        case 1 -> (char) random.nextInt(0x800);
+                        case 2 -> (char) random.nextInt(Character.MAX_VALUE + 1);
+                        default -> "\ud83d\ude00";
+                    });
+        }
+        return sb.toString();
+    }
 }
@@ -2,8 +2,12 @@ package barista.serde.runtime.json;
 
 import static barista.serde.runtime.json.JsonParserAsserts.assertThatError;
 import static barista.serde.runtime.json.JsonParserAsserts.assertThatResult;
+import static org.assertj.core.api.Assertions.assertThat;
 
+import barista.serde.runtime.parsec.ParseState;
 import barista.serde.runtime.parsec.Parsers;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
 import org.junit.jupiter.api.Test;
 
 final class StringParserTests {
@@ -24,6 +28,45 @@ final class StringParserTests {
                 .isEqualTo("\"test\"");
     }
 
+    @Test
+    void testQuotedString_utf8EscapesAcrossWords() {
+        String json = "\"0123456\\\"89abcdef\\\\x\\\"0123456789\\u00e9x\\\\\" tail";
+        for (ParseState state :
+                new ParseState[] {
+                    ParseState.of(json), ParseState.of(json.getBytes(StandardCharsets.UTF_8))
+                }) {
+            assertThat(JsonParsers.string().parse(state).unwrap())
+                    .isEqualTo("0123456\"89abcdef\\x\"0123456789\u00e9x\\");
+            assertThat(state.current()).isEqualTo(' ');
+        }
+    }
+
+    @Test
+    void testQuotedString_adjacentAndSurrogateEscapes() {
+        String json = "\"\u00e9\\\\\\\"\\u00e9\\ud83d\\ude00\\k\u00e9\" tail";
+        for (ParseState state :
+                new ParseState[] {
+                    ParseState.of(json),
+                    ParseState.of(json.getBytes(StandardCharsets.UTF_8)),
+                    ParseState.of(new StringReader(json), 4)
+                }) {
+            assertThat(JsonParsers.string().parse(state).unwrap())
+                    .isEqualTo("\u00e9\\\"\u00e9\ud83d\ude00\\k\u00e9");
+            assertThat(state.current()).isEqualTo(' ');
+        }
+    }
+
+    @Test
+    void testQuotedString_invalidUnicodeEscape() {
+        assertThatError(JsonParsers.string(), "\"\\u12x4\"")
+                .contains(
+                        """
+            Parse error at line 1, column 2: Invalid unicode escape sequence:
+            "\\u12x4"
+             ^--^
+            """);
+    }
+
     @Test
     void testQuotedString_missingStartQuote() {
         assertThatError(JsonParsers.string(), "test")
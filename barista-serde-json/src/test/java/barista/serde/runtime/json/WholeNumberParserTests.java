@@ -2,7 +2,9 @@ package barista.serde.runtime.json;
 
 import static barista.serde.runtime.json.JsonParserAsserts.assertThatError;
 import static barista.serde.runtime.json.JsonParserAsserts.assertThatResult;
+import static org.assertj.core.api.Assertions.assertThat;
 
+import barista.serde.runtime.parsec.ParseState;
 import org.junit.jupiter.api.Test;
 
 final class WholeNumberParserTests {
@@ -96,4 +98,85 @@ final class WholeNumberParserTests {
                     ^--^
                     """);
     }
+
+    @Test
+    void testLimits() {
+        assertThatResult(JsonParsers.byteParser(), "-128").isEqualTo(Byte.MIN_VALUE);
+        assertThatResult(JsonParsers.byteParser(), "127").isEqualTo(Byte.MAX_VALUE);
+        assertThatResult(JsonParsers.shortParser(), "-32768").isEqualTo(Short.MIN_VALUE);
+        assertThatResult(JsonParsers.shortParser(), "32767").isEqualTo(Short.MAX_VALUE);
+        assertThatResult(JsonParsers.integerParser(), "-2147483648").isEqualTo(Integer.MIN_VALUE);
+        assertThatResult(JsonParsers.integerParser(), "2147483647").isEqualTo(Integer.MAX_VALUE);
+        assertThatResult(JsonParsers.longParser(), String.valueOf(Long.MIN_VALUE))
+                .isEqualTo(Long.MIN_VALUE);
+        assertThatResult(JsonParsers.longParser(), String.valueOf(Long.MAX_VALUE))
+                .isEqualTo(Long.MAX_VALUE);
+        assertThatError(JsonParsers.byteParser(), "-129")
+                .contains(
+                        """
+                Parse error at line 1, column 1: Cannot parse byte from value:
+                -129
+                ^--^
+                """);
+        assertThatError(JsonParsers.integerParser(), "2147483648")
+                .contains(
+                        """
+                Parse error at line 1, column 1: Cannot parse integer from value:
+                2147483648
+                ^--------^
+                """);
+        assertThatError(JsonParsers.longParser(), "-9223372036854775809")
+                .contains(
+                        """
+                Parse error at line 1, column 1: Cannot parse long from value:
+                -9223372036854775809
+                ^------------------^
+                """);
+    }
+
+    @Test
+    void testSigns() {
+        assertThatResult(JsonParsers.integerParser(), "+12").isEqualTo(12);
+        assertThatResult(JsonParsers.integerParser(), "-012").isEqualTo(-12);
+        assertThatError(JsonParsers.integerParser(), "-")
+                .contains(
+                        """
+                Parse error at line 1, column 1: Cannot parse integer from value:
+                -
+                ^^
+                """);
+        assertThatError(JsonParsers.integerParser(), "1-2")
+                .contains(
+                        """
+                Parse error at line 1, column 1: Cannot parse integer from value:
+                1-2
+                ^-^
+                """);
+    }
+
+    @Test
+    void testParseInt_stopsAtValueBoundary() {
+        ParseState state = ParseState.of("[42, -7]");
+        state.next();
+        assertThat(JsonParsers.parseInt(state)).isEqualTo(42);
+        assertThat(state.current()).isEqualTo(',');
+        state.next();
+        state.skipWhitespace();
+        assertThat(JsonParsers.parseLong(state)).isEqualTo(-7L);
+        assertThat(state.current()).isEqualTo(']');
+        assertThat(state.hasError()).isFalse();
+    }
+
+    @Test
+    void testParseInt_recordsErrorOnState() {
+        ParseState state = ParseState.of("4x2");
+        assertThat(JsonParsers.parseInt(state)).isZero();
+        assertThat(state.takeError().errorString())
+                .isEqualTo(
+                        """
+                Parse error at line 1, column 1: Cannot parse integer from value:
+                4x2
+                ^-^
+                """);
+    }
 }
@@ -1,45 +1,46 @@
 package barista.serde.runtime.parsec;
 
-import io.github.markelliot.result.Result;
 import java.util.function.Supplier;
 
-final class BetweenParser<T> implements Parser<T> {
-    private final Parser<?> start;
-    private final Parser<T> parser;
-    private final Parser<?> maybeEnd;
-    private final Parser<?> end;
+final class BetweenParser<T> implements DirectParser<T> {
+    private final DirectParser<?> start;
+    private final DirectParser<T> parser;
+    private final DirectParser<?> maybeEnd;
+    private final DirectParser<?> end;
     private final Supplier<T> defaultValue;
 
     BetweenParser(Parser<?> start, Parser<T> parser, Parser<?> end, Supplier<T> defaultValue) {
-        this.start = start;
-        this.parser = parser;
-        this.maybeEnd = Parsers.maybe(end);
-        this.end = end;
+        this.start = Parsers.direct(start);
+        this.parser = Parsers.direct(parser);
+        this.maybeEnd = Parsers.direct(Parsers.maybe(end));
+        this.end = Parsers.direct(end);
         this.defaultValue = defaultValue;
     }
 
     @Override
-    public Result<T, ParseError> parse(ParseState state) {
-        Result<?, ParseError> startResult = start.parse(state);
-        if (startResult.isError()) {
-            return startResult.coerce();
+    public T parseDirect(ParseState state) {
+        start.parseDirect(state);
+        if (state.hasError()) {
+            return null;
         }
 
         // if we immediately see the end, return the default value, we
         // use a maybe parser to ensure we rewind because it's not an
         // error to have an empty result
-        if (!maybeEnd.parse(state).isError()) {
-            return Result.ok(defaultValue.get());
+        maybeEnd.parseDirect(state);
+        if (!state.hasError()) {
+            return defaultValue.get();
         }
+        state.clearError();
 
-        Result<T, ParseError> result = parser.parse(state);
-        if (result.isError()) {
-            return result;
+        T result = parser.parseDirect(state);
+        if (state.hasError()) {
+            return null;
         }
 
-        Result<?, ParseError> endResult = end.parse(state);
-        if (endResult.isError()) {
-            return endResult.coerce();
+        end.parseDirect(state);
+        if (state.hasError()) {
+            return null;
         }
 
         return result;
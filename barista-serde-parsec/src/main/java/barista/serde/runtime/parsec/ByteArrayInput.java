@@ -0,0 +1,71 @@
+package barista.serde.runtime.parsec;
+
+/**
+ * Reads UTF-8 encoded bytes in place. Structural JSON characters are all ASCII, so parsers can
+ * inspect raw bytes directly and only the slices they keep are ever decoded. Whitespace and string
+ * contents are skipped eight bytes at a time, see {@link Swar}.
+ */
+final class ByteArrayInput implements ParseInput {
+    private final byte[] bytes;
+    private final int offset;
+    private final int length;
+
+    ByteArrayInput(byte[] bytes, int offset, int length) {
+        this.bytes = bytes;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    @Override
+    public int at(int index) {
+        return index < length ? bytes[offset + index] & 0xFF : ParseState.EOS;
+    }
+
+    @Override
+    public int skipWhitespace(int index) {
+        for (; index + Long.BYTES <= length; index += Long.BYTES) {
+            long whitespace = Swar.whitespace(Swar.getLong(bytes, offset + index));
+            if (whitespace != Swar.ALL) {
+                index += Swar.firstByte(~whitespace & Swar.ALL);
+                break;
+            }
+        }
+        return ParseInput.super.skipWhitespace(index);
+    }
+
+    @Override
+    public int indexOf(int index, char first, char second) {
+        long firstPattern = Swar.broadcast(first);
+        long secondPattern = Swar.broadcast(second);
+        for (; index + Long.BYTES <= length; index += Long.BYTES) {
+            long word = Swar.getLong(bytes, offset + index);
+            long found = Swar.matches(word, firstPattern) | Swar.matches(word, secondPattern);
+            if (found != 0) {
+                return index + Swar.firstByte(found);
+            }
+        }
+        return ParseInput.super.indexOf(index, first, second);
+    }
+
+    @Override
+    public CharSequence slice(int from, int to) {
+        return Utf8.decode(bytes, offset + from, to - from);
+    }
+
+    @Override
+    public void appendTo(StringBuilder builder, int from, int to) {
+        for (int i = from; i < to; i++) {
+            byte unit = bytes[offset + i];
+            if (unit < 0) {
+                builder.append(Utf8.decode(bytes, offset + i, to - i));
+                return;
+            }
+            builder.append((char) unit);
+        }
+    }
+
+    @Override
+    public ParseError error(int markIndex, int index, String message) {
+        return ParseErrors.excerpt(this, 0, length, 0, markIndex, index, message);
+    }
+}
@@ -0,0 +1,65 @@
+package barista.serde.runtime.parsec;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Reads UTF-8 encoded bytes from a {@link ByteBuffer} without an array (direct, read-only or
+ * memory-mapped buffers) using absolute gets, so the buffer's position is never modified and mapped
+ * files are read straight from the page cache.
+ */
+final class ByteBufferInput implements ParseInput {
+    private final ByteBuffer buffer;
+    private final int offset;
+    private final int length;
+
+    ByteBufferInput(ByteBuffer buffer) {
+        // a little-endian view for word-at-a-time reads, see Swar; indices match the original
+        this.buffer = buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        this.offset = buffer.position();
+        this.length = buffer.remaining();
+    }
+
+    @Override
+    public int at(int index) {
+        return index < length ? buffer.get(offset + index) & 0xFF : ParseState.EOS;
+    }
+
+    @Override
+    public int skipWhitespace(int index) {
+        for (; index + Long.BYTES <= length; index += Long.BYTES) {
+            long whitespace = Swar.whitespace(buffer.getLong(offset + index));
+            if (whitespace != Swar.ALL) {
+                index += Swar.firstByte(~whitespace & Swar.ALL);
+                break;
+            }
+        }
+        return ParseInput.super.skipWhitespace(index);
+    }
+
+    @Override
+    public int indexOf(int index, char first, char second) {
+        long firstPattern = Swar.broadcast(first);
+        long secondPattern = Swar.broadcast(second);
+        for (; index + Long.BYTES <= length; index += Long.BYTES) {
+            long word = buffer.getLong(offset + index);
+            long found = Swar.matches(word, firstPattern) | Swar.matches(word, secondPattern);
+            if (found != 0) {
+                return index + Swar.firstByte(found);
+            }
+        }
+        return ParseInput.super.indexOf(index, first, second);
+    }
+
+    @Override
+    public CharSequence slice(int from, int to) {
+        byte[] bytes = new byte[to - from];
+        buffer.get(offset + from, bytes);
+        return Utf8.decode(bytes, 0, bytes.length);
+    }
+
+    @Override
+    public ParseError error(int markIndex, int index, String message) {
+        return ParseErrors.excerpt(this, 0, length, 0, markIndex, index, message);
+    }
+}
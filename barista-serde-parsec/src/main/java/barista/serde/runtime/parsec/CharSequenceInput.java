@@ -0,0 +1,29 @@
+package barista.serde.runtime.parsec;
+
+final class CharSequenceInput implements ParseInput {
+    private final CharSequence seq;
+
+    CharSequenceInput(CharSequence seq) {
+        this.seq = seq;
+    }
+
+    @Override
+    public int at(int index) {
+        return index < seq.length() ? seq.charAt(index) : ParseState.EOS;
+    }
+
+    @Override
+    public CharSequence slice(int from, int to) {
+        return seq.subSequence(from, to);
+    }
+
+    @Override
+    public void appendTo(StringBuilder builder, int from, int to) {
+        builder.append(seq, from, to);
+    }
+
+    @Override
+    public ParseError error(int markIndex, int index, String message) {
+        return new ParseError(markIndex, index, seq, message);
+    }
+}
@@ -0,0 +1,27 @@
+package barista.serde.runtime.parsec;
+
+import io.github.markelliot.result.Result;
+
+/**
+ * A {@link Parser} that returns values directly and records errors on the {@link ParseState}
+ * instead of wrapping every outcome in a {@link Result}.
+ *
+ * <p>Implementations either return the parsed value, or call {@link ParseState#fail(int, String)}
+ * and return any value (conventionally {@code null}); callers must check {@link
+ * ParseState#hasError()} after each call and propagate the failure by returning immediately. {@link
+ * #parse(ParseState)} adapts this contract to {@link Result}.
+ */
+@FunctionalInterface
+public interface DirectParser<T> extends Parser<T> {
+    /** Parses a value from {@code state}, recording an error on {@code state} on failure. */
+    T parseDirect(ParseState state);
+
+    @Override
+    default Result<T, ParseError> parse(ParseState state) {
+        T value = parseDirect(state);
+        if (state.hasError()) {
+            return Result.error(state.takeError());
+        }
+        return Result.ok(value);
+    }
+}
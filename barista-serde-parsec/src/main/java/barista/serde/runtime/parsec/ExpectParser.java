@@ -1,8 +1,6 @@
 package barista.serde.runtime.parsec;
 
-import io.github.markelliot.result.Result;
-
-final class ExpectParser implements Parser<Character> {
+final class ExpectParser implements DirectParser<Character> {
     private final char expectation;
 
     ExpectParser(char expectation) {
@@ -10,12 +8,13 @@ final class ExpectParser implements Parser<Character> {
     }
 
     @Override
-    public Result<Character, ParseError> parse(ParseState state) {
+    public Character parseDirect(ParseState state) {
         state.skipWhitespace();
         if (state.current() == expectation) {
             state.next(); // consume the expected char
-            return Result.ok(expectation);
+            return expectation;
         }
-        return Result.error(state.mark().error("Expected to find '" + expectation + "'"));
+        state.fail(state.markIndex(), "Expected to find '" + expectation + "'");
+        return null;
     }
 }
@@ -0,0 +1,46 @@
+package barista.serde.runtime.parsec;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/** Reads UTF-8 encoded bytes from an {@link InputStream}, decoding only requested slices. */
+final class InputStreamInput extends WindowedInput {
+    private final InputStream stream;
+    private byte[] window;
+
+    InputStreamInput(InputStream stream, int windowSize) {
+        this.stream = stream;
+        this.window = new byte[windowSize];
+    }
+
+    @Override
+    int capacity() {
+        return window.length;
+    }
+
+    @Override
+    int unit(int offset) {
+        return window[offset] & 0xFF;
+    }
+
+    @Override
+    void shift(int offset, int length) {
+        System.arraycopy(window, offset, window, 0, length);
+    }
+
+    @Override
+    void grow() {
+        window = Arrays.copyOf(window, Math.min(window.length * 2, MAX_WINDOW_SIZE));
+    }
+
+    @Override
+    int read(int offset, int length) throws IOException {
+        return stream.read(window, offset, length);
+    }
+
+    @Override
+    CharSequence decode(int offset, int length) {
+        return Utf8.decode(window, offset, length);
+    }
+}
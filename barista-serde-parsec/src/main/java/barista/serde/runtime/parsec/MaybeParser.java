@@ -1,19 +1,17 @@
 package barista.serde.runtime.parsec;
 
-import io.github.markelliot.result.Result;
-
-final class MaybeParser<T> implements Parser<T> {
-    private final Parser<T> parser;
+final class MaybeParser<T> implements DirectParser<T> {
+    private final DirectParser<T> parser;
 
     MaybeParser(Parser<T> parser) {
-        this.parser = parser;
+        this.parser = Parsers.direct(parser);
     }
 
     @Override
-    public Result<T, ParseError> parse(ParseState state) {
-        ParseState.Mark pos = state.mark();
-        Result<T, ParseError> result = parser.parse(state);
-        if (result.isError()) {
+    public T parseDirect(ParseState state) {
+        int pos = state.markIndex();
+        T result = parser.parseDirect(state);
+        if (state.hasError()) {
             state.rewind(pos);
         }
         return result;
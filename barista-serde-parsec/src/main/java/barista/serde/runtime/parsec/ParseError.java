@@ -1,6 +1,16 @@
 package barista.serde.runtime.parsec;
 
-public record ParseError(int markIndex, int index, CharSequence seq, String message) {
+/**
+ * An error at {@code markIndex} through {@code index} of {@code seq}, where {@code seq} is preceded
+ * by {@code lineOffset} lines of input that are no longer available (such as input that a streaming
+ * {@link ParseState} has already discarded).
+ */
+public record ParseError(
+        int markIndex, int index, CharSequence seq, String message, int lineOffset) {
+    public ParseError(int markIndex, int index, CharSequence seq, String message) {
+        this(markIndex, index, seq, message, 0);
+    }
+
     public String errorString() {
         int markAdjustment = 0;
         // we need to "adjust" markIndex if it lands on a line break or the end of the stream
@@ -12,14 +22,14 @@ public record ParseError(int markIndex, int index, CharSequence seq, String mess
         }
         int adjustedMarkIndex = Math.max(markIndex - markAdjustment, 0);
 
-        int lineNumber = 1;
+        int lineNumber = 1 + lineOffset;
         int columnNumber = 1;
         int markStartLineCharIndex = 0;
         for (int i = 0; i < adjustedMarkIndex; i++) {
             if (seq.charAt(i) == '\n') {
                 lineNumber++;
                 columnNumber = 1;
-                markStartLineCharIndex = i;
+                markStartLineCharIndex = i + 1;
             } else {
                 columnNumber++;
             }
@@ -0,0 +1,54 @@
+package barista.serde.runtime.parsec;
+
+final class ParseErrors {
+    private ParseErrors() {}
+
+    /**
+     * Produces a {@link ParseError} whose context is only the line containing {@code markIndex}, so
+     * that reporting an error in a very large input never copies or decodes the whole input.
+     *
+     * <p>Only the {@code length} units starting at {@code first} are inspected, and {@code
+     * lineOffset} lines are known to precede {@code first}. Positions are handled as offsets from
+     * {@code first} so that this works for inputs whose indices wrap around.
+     */
+    static ParseError excerpt(
+            ParseInput input,
+            int first,
+            int length,
+            int lineOffset,
+            int markIndex,
+            int index,
+            String message) {
+        int mark = clamp(markIndex - first, 0, length);
+        int end = clamp(index - first, mark, length);
+
+        // as in ParseError#errorString, a mark on a line break or the end refers to the prior line
+        int adjusted =
+                mark > 0 && (mark == length || input.at(first + mark) == '\n') ? mark - 1 : mark;
+        int lineStart = adjusted;
+        while (lineStart > 0 && input.at(first + lineStart - 1) != '\n') {
+            lineStart--;
+        }
+        int lines = lineOffset;
+        for (int i = 0; i < lineStart; i++) {
+            if (input.at(first + i) == '\n') {
+                lines++;
+            }
+        }
+        int lineEnd = mark;
+        while (lineEnd < length && input.at(first + lineEnd) != '\n') {
+            lineEnd++;
+        }
+
+        return new ParseError(
+                input.slice(first + lineStart, first + mark).length(),
+                input.slice(first + lineStart, first + Math.min(end, lineEnd)).length(),
+                input.slice(first + lineStart, first + lineEnd),
+                message,
+                lines);
+    }
+
+    private static int clamp(int value, int min, int max) {
+        return Math.max(min, Math.min(value, max));
+    }
+}
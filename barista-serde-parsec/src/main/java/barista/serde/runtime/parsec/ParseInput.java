@@ -0,0 +1,47 @@
+package barista.serde.runtime.parsec;
+
+/**
+ * The underlying source of a {@link ParseState}, addressed by index in its native code units (chars
+ * for character input, bytes for UTF-8 input).
+ */
+interface ParseInput {
+    /** Returns the code unit at {@code index}, or {@link ParseState#EOS} if past the end. */
+    int at(int index);
+
+    /**
+     * Notes that a mark was taken at {@code index}. Inputs that discard consumed data must retain
+     * everything from the most recent mark onwards.
+     */
+    default void mark(int index) {}
+
+    /** Returns the index of the first unit at or after {@code index} that is not whitespace. */
+    default int skipWhitespace(int index) {
+        for (; Character.isWhitespace(at(index)); index++)
+            ;
+        return index;
+    }
+
+    /**
+     * Returns the index of the first unit at or after {@code index} equal to either of the ASCII
+     * characters {@code first} or {@code second}, or the index at which the input ends.
+     */
+    default int indexOf(int index, char first, char second) {
+        for (int unit = at(index); unit != first && unit != second; unit = at(++index)) {
+            if (unit == ParseState.EOS) {
+                return index;
+            }
+        }
+        return index;
+    }
+
+    /** Returns the decoded characters between {@code from} (inclusive) and {@code to}. */
+    CharSequence slice(int from, int to);
+
+    /** Appends the decoded characters between {@code from} (inclusive) and {@code to}. */
+    default void appendTo(StringBuilder builder, int from, int to) {
+        builder.append(slice(from, to));
+    }
+
+    /** Returns an error spanning {@code markIndex} to {@code index}. */
+    ParseError error(int markIndex, int index, String message);
+}
@@ -21,34 +21,146 @@
 
 package barista.serde.runtime.parsec;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+
 public final class ParseState {
 
     /** End of stream sentinel value. */
     public static final int EOS = -1;
 
-    private final CharSequence seq;
+    /** Initial size of the window used by streaming states. */
+    public static final int DEFAULT_WINDOW_SIZE = 16 * 1024;
+
+    private final ParseInput input;
     private int index = 0;
 
+    // the pending error, if any, recorded by direct parsers; materialized lazily so that failures
+    // that are later rewound (e.g. by Parsers.maybe) never build an error message excerpt
+    private int errorMarkIndex;
+    private int errorIndex;
+    private String errorMessage;
+    private ParseError error;
+
     public ParseState(CharSequence seq) {
-        this.seq = seq;
+        this(new CharSequenceInput(seq));
+    }
+
+    private ParseState(ParseInput input) {
+        this.input = input;
     }
 
     public static ParseState of(CharSequence str) {
         return new ParseState(str);
     }
 
-    /** Returns current character in the stream. */
+    /**
+     * Returns a state that reads UTF-8 encoded bytes in place; only slices requested by parsers are
+     * decoded into characters.
+     */
+    public static ParseState of(byte[] utf8) {
+        return new ParseState(new ByteArrayInput(utf8, 0, utf8.length));
+    }
+
+    /**
+     * Returns a state that reads the remaining UTF-8 encoded bytes of {@code utf8} in place,
+     * without modifying the buffer's position.
+     */
+    public static ParseState of(ByteBuffer utf8) {
+        if (utf8.hasArray()) {
+            return new ParseState(
+                    new ByteArrayInput(
+                            utf8.array(), utf8.arrayOffset() + utf8.position(), utf8.remaining()));
+        }
+        return new ParseState(new ByteBufferInput(utf8));
+    }
+
+    /**
+     * Returns a state that incrementally reads UTF-8 encoded bytes from {@code utf8} through a
+     * bounded, refillable window; see {@link #of(InputStream, int)}.
+     */
+    public static ParseState of(InputStream utf8) {
+        return of(utf8, DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * Returns a state that incrementally reads UTF-8 encoded bytes from {@code utf8} through a
+     * window of {@code windowSize} bytes.
+     *
+     * <p>Input before the most recent {@link #mark()} is discarded as the window refills, so memory
+     * use is bounded by the window size or the longest single token rather than the size of the
+     * document. Rewinding to or slicing from a mark that precedes the retained window throws {@link
+     * IllegalStateException}, and I/O failures are thrown as {@link java.io.UncheckedIOException}.
+     * The stream is not closed.
+     */
+    public static ParseState of(InputStream utf8, int windowSize) {
+        return new ParseState(new InputStreamInput(utf8, windowSize));
+    }
+
+    /**
+     * Returns a state that incrementally reads characters from {@code reader} through a bounded,
+     * refillable window; see {@link #of(InputStream, int)}.
+     */
+    public static ParseState of(Reader reader) {
+        return of(reader, DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * Returns a state that incrementally reads characters from {@code reader} through a window of
+     * {@code windowSize} chars; see {@link #of(InputStream, int)}.
+     */
+    public static ParseState of(Reader reader, int windowSize) {
+        return new ParseState(new ReaderInput(reader, windowSize));
+    }
+
+    /**
+     * Returns a state that reads UTF-8 encoded bytes from {@code channel}, starting at its current
+     * position.
+     *
+     * <p>Channels with up to {@link Integer#MAX_VALUE} bytes remaining are memory-mapped, so the OS
+     * page cache serves bytes directly and nothing is copied onto the heap. Larger channels are
+     * read through a bounded window as described in {@link #of(InputStream, int)}, in which case
+     * the channel must remain open until parsing completes.
+     */
+    public static ParseState of(FileChannel channel) throws IOException {
+        long position = channel.position();
+        long remaining = channel.size() - position;
+        if (remaining <= Integer.MAX_VALUE) {
+            return of(channel.map(FileChannel.MapMode.READ_ONLY, position, remaining));
+        }
+        return of(Channels.newInputStream(channel));
+    }
+
+    /**
+     * Returns current character in the stream.
+     *
+     * <p>For UTF-8 input this is the current byte, which is always equal to the character for ASCII
+     * and always greater than {@code 0x7F} for any part of a multi-byte sequence.
+     */
     public int current() {
-        return index < seq.length() ? seq.charAt(index) : EOS;
+        return input.at(index);
     }
 
     public void skipWhitespace() {
-        for (; index < seq.length() && Character.isWhitespace(seq.charAt(index)); index++)
-            ;
+        index = input.skipWhitespace(index);
+    }
+
+    /**
+     * Moves the underlying index forward to the next occurrence of either of the ASCII characters
+     * {@code first} or {@code second}, or to the end of the stream, and then returns the newly
+     * current character. Byte inputs scan eight bytes at a time.
+     */
+    public int skipUntil(char first, char second) {
+        index = input.indexOf(index, first, second);
+        return current();
     }
 
     public boolean isEndOfStream() {
-        return index == seq.length();
+        return input.at(index) == EOS;
     }
 
     /**
@@ -60,29 +172,121 @@ public final class ParseState {
         return current();
     }
 
+    /**
+     * Returns the character {@code offset} positions after the current one without moving the
+     * underlying index.
+     */
+    public int peek(int offset) {
+        return input.at(index + offset);
+    }
+
+    /** Moves the underlying index forward by {@code count} characters. */
+    public void skip(int count) {
+        index += count;
+    }
+
     public int last() {
         if (index == 0) {
             return EOS;
         }
-        return seq.charAt(index - 1);
+        return input.at(index - 1);
     }
 
     /** Returns a pointer to the current index. */
     public Mark mark() {
+        input.mark(index);
         return new Mark(index);
     }
 
+    /**
+     * Returns the current index as a plain {@code int} mark that can be passed to {@link
+     * #rewind(int)}, {@link #slice(int)} and {@link #fail(int, String)}; like {@link #mark()},
+     * input from this index onward is retained by streaming states.
+     */
+    public int markIndex() {
+        input.mark(index);
+        return index;
+    }
+
+    /**
+     * Returns the current index without retaining input, for use with {@link #slice(int)} and
+     * {@link #appendSlice(StringBuilder, int)} while an earlier {@link #markIndex()} is held.
+     */
+    public int position() {
+        return index;
+    }
+
     /** Resets the index to the provided mark. */
     public void rewind(Mark mark) {
         index = mark.markIndex;
     }
 
+    /** Resets the index to the provided {@link #markIndex()}. */
+    public void rewind(int markIndex) {
+        index = markIndex;
+    }
+
     public CharSequence slice(Mark from) {
-        return seq.subSequence(from.markIndex, index);
+        return input.slice(from.markIndex, index);
     }
 
     public CharSequence slice(Mark from, int endOffset) {
-        return seq.subSequence(from.markIndex, index + endOffset);
+        return input.slice(from.markIndex, index + endOffset);
+    }
+
+    public CharSequence slice(int markIndex) {
+        return input.slice(markIndex, index);
+    }
+
+    public CharSequence slice(int markIndex, int endOffset) {
+        return input.slice(markIndex, index + endOffset);
+    }
+
+    /**
+     * Appends the characters from {@code markIndex} to the current index to {@code builder},
+     * without creating an intermediate slice where the input allows.
+     */
+    public void appendSlice(StringBuilder builder, int markIndex) {
+        input.appendTo(builder, markIndex, index);
+    }
+
+    /**
+     * Records an error spanning from {@code markIndex} to the current index; see {@link
+     * DirectParser}.
+     */
+    public void fail(int markIndex, String message) {
+        this.errorMarkIndex = markIndex;
+        this.errorIndex = index;
+        this.errorMessage = message;
+        this.error = null;
+    }
+
+    /** Records an already materialized error; see {@link DirectParser}. */
+    public void fail(ParseError parseError) {
+        this.errorMessage = null;
+        this.error = parseError;
+    }
+
+    /** Returns true if a parser has recorded an error that has not yet been taken or cleared. */
+    public boolean hasError() {
+        return errorMessage != null || error != null;
+    }
+
+    /** Returns and clears the recorded error, throwing if there is none. */
+    public ParseError takeError() {
+        if (!hasError()) {
+            throw new IllegalStateException("No parse error has been recorded");
+        }
+        ParseError result =
+                error != null ? error : input.error(errorMarkIndex, errorIndex, errorMessage);
+        clearError();
+        return result;
+    }
+
+    /** Discards any recorded error, for instance after rewinding past a failed alternative. */
+    public void clearError() {
+        this.errorMessage = null;
+        this.error = null;
     }
 
     public final class Mark {
@@ -93,7 +297,7 @@ public final class ParseState {
         }
 
         public ParseError error(String message) {
-            return new ParseError(markIndex, index, seq, message);
+            return input.error(markIndex, index, message);
         }
     }
 }
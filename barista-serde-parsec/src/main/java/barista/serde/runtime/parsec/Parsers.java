@@ -8,6 +8,24 @@ public final class Parsers {
 
     private Parsers() {}
 
+    /**
+     * Returns {@code parser} as a {@link DirectParser}, adapting parsers that only implement the
+     * {@link Result}-returning contract.
+     */
+    public static <T> DirectParser<T> direct(Parser<T> parser) {
+        if (parser instanceof DirectParser<T> directParser) {
+            return directParser;
+        }
+        return state -> {
+            Result<T, ParseError> result = parser.parse(state);
+            if (result.isError()) {
+                state.fail(result.error().get());
+                return null;
+            }
+            return result.unwrap();
+        };
+    }
+
     /** Returns a parser that rewinds state if in error. */
     public static <T> Parser<T> maybe(Parser<T> parser) {
         return new MaybeParser<>(parser);
@@ -15,10 +33,12 @@ public final class Parsers {
 
     /** Returns a parser that first consumes any whitespace characters. */
     public static <T> Parser<T> whitespace(Parser<T> parser) {
-        return state -> {
-            state.skipWhitespace();
-            return parser.parse(state);
-        };
+        DirectParser<T> directParser = direct(parser);
+        return (DirectParser<T>)
+                state -> {
+                    state.skipWhitespace();
+                    return directParser.parseDirect(state);
+                };
     }
 
     public static Parser<Character> expect(char expectation) {
@@ -26,19 +46,22 @@ public final class Parsers {
     }
 
     public static Parser<String> expect(String expectation) {
-        return state -> {
-            ParseState.Mark pos = state.mark();
-            for (int i = 0; i < expectation.length(); i++) {
-                if (state.current() != expectation.charAt(i)) {
-                    return Result.error(pos.error("Expected to find '" + expectation + "'"));
-                }
-                if (state.isEndOfStream()) {
-                    return Result.error(pos.error("Unexpectedly reached end of stream."));
-                }
-                state.next();
-            }
-            return Result.ok(expectation);
-        };
+        return (DirectParser<String>)
+                state -> {
+                    int pos = state.markIndex();
+                    for (int i = 0; i < expectation.length(); i++) {
+                        if (state.current() != expectation.charAt(i)) {
+                            state.fail(pos, "Expected to find '" + expectation + "'");
+                            return null;
+                        }
+                        if (state.isEndOfStream()) {
+                            state.fail(pos, "Unexpectedly reached end of stream.");
+                            return null;
+                        }
+                        state.next();
+                    }
+                    return expectation;
+                };
     }
 
     public static <T> Parser<T> between(
@@ -50,11 +73,20 @@ public final class Parsers {
      * Returns a parser that runs the provided parser and maps the result according to {@code fn}.
      */
     public static <T, U> Parser<U> composeResult(Parser<T> parser, Function<T, U> fn) {
-        return state -> parser.parse(state).mapResult(fn);
+        DirectParser<T> directParser = direct(parser);
+        return (DirectParser<U>)
+                state -> {
+                    T value = directParser.parseDirect(state);
+                    return state.hasError() ? null : fn.apply(value);
+                };
     }
 
     /** Returns a parser that always produces the provided error. */
     public static <T> Parser<T> error(String error) {
-        return state -> Result.error(state.mark().error(error));
+        return (DirectParser<T>)
+                state -> {
+                    state.fail(state.markIndex(), error);
+                    return null;
+                };
     }
 }
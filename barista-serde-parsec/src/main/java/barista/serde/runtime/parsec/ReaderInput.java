@@ -0,0 +1,45 @@
+package barista.serde.runtime.parsec;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+
+final class ReaderInput extends WindowedInput {
+    private final Reader reader;
+    private char[] window;
+
+    ReaderInput(Reader reader, int windowSize) {
+        this.reader = reader;
+        this.window = new char[windowSize];
+    }
+
+    @Override
+    int capacity() {
+        return window.length;
+    }
+
+    @Override
+    int unit(int offset) {
+        return window[offset];
+    }
+
+    @Override
+    void shift(int offset, int length) {
+        System.arraycopy(window, offset, window, 0, length);
+    }
+
+    @Override
+    void grow() {
+        window = Arrays.copyOf(window, Math.min(window.length * 2, MAX_WINDOW_SIZE));
+    }
+
+    @Override
+    int read(int offset, int length) throws IOException {
+        return reader.read(window, offset, length);
+    }
+
+    @Override
+    CharSequence decode(int offset, int length) {
+        return new String(window, offset, length);
+    }
+}
@@ -0,0 +1,60 @@
+package barista.serde.runtime.parsec;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+
+/**
+ * SIMD-within-a-register helpers that classify eight bytes at a time packed into a little-endian
+ * {@code long}, so byte inputs can skip over runs of uninteresting input a word at a time.
+ */
+final class Swar {
+    private static final VarHandle LONGS =
+            MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private static final long ONES = 0x0101010101010101L;
+    private static final long LOW_SEVEN_BITS = 0x7F7F7F7F7F7F7F7FL;
+
+    /**
+     * A word with the high bit of every byte set, as produced by {@link #matches} for a full match.
+     */
+    static final long ALL = 0x8080808080808080L;
+
+    private static final long SPACES = broadcast(' ');
+    private static final long NEWLINES = broadcast('\n');
+    private static final long CARRIAGE_RETURNS = broadcast('\r');
+    private static final long TABS = broadcast('\t');
+
+    private Swar() {}
+
+    static long getLong(byte[] bytes, int index) {
+        return (long) LONGS.get(bytes, index);
+    }
+
+    /** Returns a word with every byte equal to {@code ascii}. */
+    static long broadcast(char ascii) {
+        return ONES * ascii;
+    }
+
+    /**
+     * Returns a word with the high bit set in exactly those bytes of {@code word} that are equal to
+     * the corresponding byte of {@code pattern}.
+     */
+    static long matches(long word, long pattern) {
+        long x = word ^ pattern;
+        return ~(((x & LOW_SEVEN_BITS) + LOW_SEVEN_BITS) | x | LOW_SEVEN_BITS);
+    }
+
+    /** Returns the bytes of {@code word} that are JSON whitespace (space, tab, CR or LF). */
+    static long whitespace(long word) {
+        return matches(word, SPACES)
+                | matches(word, NEWLINES)
+                | matches(word, CARRIAGE_RETURNS)
+                | matches(word, TABS);
+    }
+
+    /** Returns the offset of the first (lowest addressed) byte flagged in {@code mask}. */
+    static int firstByte(long mask) {
+        return Long.numberOfTrailingZeros(mask) >>> 3;
+    }
+}
@@ -0,0 +1,18 @@
+package barista.serde.runtime.parsec;
+
+import java.nio.charset.StandardCharsets;
+
+final class Utf8 {
+    private Utf8() {}
+
+    /** Decodes UTF-8 bytes, copying pure-ASCII spans straight into a Latin-1 string. */
+    static String decode(byte[] bytes, int offset, int length) {
+        int end = offset + length;
+        for (int i = offset; i < end; i++) {
+            if (bytes[i] < 0) {
+                return new String(bytes, offset, length, StandardCharsets.UTF_8);
+            }
+        }
+        return new String(bytes, offset, length, StandardCharsets.ISO_8859_1);
+    }
+}
@@ -0,0 +1,134 @@
+package barista.serde.runtime.parsec;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Reads from a blocking source through a bounded window that is refilled on demand.
+ *
+ * <p>When the window fills, input before the most recent {@link ParseState#mark()} is discarded, so
+ * memory use is bounded by the window size or the longest single token, whichever is larger, rather
+ * than by the size of the document. The window never grows beyond {@link #MAX_WINDOW_SIZE} units;
+ * past that the oldest half of the window is discarded even if it is still marked. Marks, rewinds
+ * and slices work for any position still in the window.
+ *
+ * <p>Reads block the calling thread without holding any monitors, so this is safe to use from
+ * virtual threads.
+ */
+abstract class WindowedInput implements ParseInput {
+    static final int MAX_WINDOW_SIZE = 64 * 1024 * 1024;
+
+    /** Absolute index of the first unit held in the window. */
+    private int windowStart = 0;
+    /** Number of valid units held in the window. */
+    private int windowLength = 0;
+    /** Absolute index of the most recent mark; nothing after this is discarded. */
+    private int retainFrom = 0;
+    /** Number of line breaks in input that has already been discarded. */
+    private int discardedLines = 0;
+
+    private boolean endOfInput = false;
+
+    /** Returns the capacity of the window. */
+    abstract int capacity();
+
+    /** Returns the unit at {@code offset} into the window. */
+    abstract int unit(int offset);
+
+    /** Moves {@code length} units starting at {@code offset} to the front of the window. */
+    abstract void shift(int offset, int length);
+
+    /**
+     * Doubles the capacity of the window (up to {@link #MAX_WINDOW_SIZE}), preserving its contents.
+     */
+    abstract void grow();
+
+    /** Reads up to {@code length} units into the window at {@code offset}, or returns -1. */
+    abstract int read(int offset, int length) throws IOException;
+
+    /** Decodes {@code length} units starting at {@code offset} into the window. */
+    abstract CharSequence decode(int offset, int length);
+
+    // note: indices are only ever compared as offsets from windowStart, which keeps this correct
+    // when indices wrap around for inputs longer than Integer.MAX_VALUE units
+
+    @Override
+    public final int at(int index) {
+        int offset = index - windowStart;
+        if (offset < windowLength) {
+            checkRetained(index);
+            return unit(offset);
+        }
+        return fill(index);
+    }
+
+    @Override
+    public final void mark(int index) {
+        retainFrom = index;
+    }
+
+    @Override
+    public final CharSequence slice(int from, int to) {
+        checkRetained(from);
+        return decode(from - windowStart, to - from);
+    }
+
+    @Override
+    public final ParseError error(int markIndex, int index, String message) {
+        // errors can only show what is still in the window, so positions before the window are
+        // clamped to its start and line numbers account for everything already discarded (columns
+        // on a partially discarded first line are relative to the window)
+        return ParseErrors.excerpt(
+                this, windowStart, windowLength, discardedLines, markIndex, index, message);
+    }
+
+    private int fill(int index) {
+        while (!endOfInput && index - windowStart >= windowLength) {
+            if (windowLength == capacity()) {
+                compact(index);
+            }
+            try {
+                int read = read(windowLength, capacity() - windowLength);
+                if (read < 0) {
+                    endOfInput = true;
+                } else {
+                    windowLength += read;
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return index - windowStart < windowLength ? unit(index - windowStart) : ParseState.EOS;
+    }
+
+    /** Makes room in the window, discarding input before the most recent mark or growing. */
+    private void compact(int index) {
+        // keep one unit before the requested index so that ParseState#last() still works
+        int discard = Math.max(Math.min(retainFrom - windowStart, index - 1 - windowStart), 0);
+        if (discard == 0) {
+            if (capacity() < MAX_WINDOW_SIZE) {
+                grow();
+                return;
+            }
+            discard = windowLength / 2;
+        }
+        for (int i = 0; i < discard; i++) {
+            if (unit(i) == '\n') {
+                discardedLines++;
+            }
+        }
+        shift(discard, windowLength - discard);
+        windowStart += discard;
+        windowLength -= discard;
+    }
+
+    private void checkRetained(int index) {
+        if (index - windowStart < 0) {
+            throw new IllegalStateException(
+                    "Cannot access input at index "
+                            + index
+                            + " that was already discarded from the streaming window starting at "
+                            + windowStart);
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package barista.serde.runtime.parsec;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import org.junit.jupiter.api.Test;
+
+final class ParseStateTests {
+    @Test
+    public void testBytes_sliceDecodesAscii() {
+        ParseState state = ParseState.of("  abc def".getBytes(StandardCharsets.UTF_8));
+        state.skipWhitespace();
+        ParseState.Mark mark = state.mark();
+        while (state.current() != ' ') {
+            state.next();
+        }
+
+        assertThat(state.slice(mark).toString()).isEqualTo("abc");
+    }
+
+    @Test
+    public void testBytes_sliceDecodesMultiByteSequences() {
+        ParseState state =
+                ParseState.of("h\u00e9llo \u2615 \ud83c\udf89".getBytes(StandardCharsets.UTF_8));
+        ParseState.Mark mark = state.mark();
+        while (!state.isEndOfStream()) {
+            state.next();
+        }
+
+        assertThat(state.slice(mark).toString()).isEqualTo("h\u00e9llo \u2615 \ud83c\udf89");
+    }
+
+    @Test
+    public void testBytes_errorColumnsCountCharacters() {
+        ParseState state = ParseState.of("\u00e9 string".getBytes(StandardCharsets.UTF_8));
+        state.next();
+        state.next();
+        state.skipWhitespace();
+
+        assertThat(Parsers.expect("other").parse(state).error().map(ParseError::errorString))
+                .contains(
+                        """
+                Parse error at line 1, column 3: Expected to find 'other':
+                \u00e9 string
+                  ^
+                """);
+    }
+
+    @Test
+    public void testByteBuffer_readsFromPosition() {
+        ByteBuffer heap = ByteBuffer.wrap("xxstring".getBytes(StandardCharsets.UTF_8));
+        heap.position(2);
+        assertThat(Parsers.expect("string").parse(ParseState.of(heap)).unwrap())
+                .isEqualTo("string");
+        assertThat(heap.position()).isEqualTo(2);
+
+        ByteBuffer direct = ByteBuffer.allocateDirect(8);
+        direct.put("xxstring".getBytes(StandardCharsets.UTF_8)).position(2);
+        ParseState state = ParseState.of(direct);
+        ParseState.Mark mark = state.mark();
+        while (!state.isEndOfStream()) {
+            state.next();
+        }
+        assertThat(state.slice(mark).toString()).isEqualTo("string");
+        assertThat(direct.position()).isEqualTo(2);
+    }
+
+    @Test
+    public void testSkipUntil_findsFirstMatchAtEveryAlignment() {
+        for (int prefix = 0; prefix < 20; prefix++) {
+            // non-ASCII bytes must never be mistaken for the characters searched for
+            String input = "a\u00e9".repeat(prefix) + "x\\y\"z";
+            for (ParseState state : states(input)) {
+                assertThat(state.skipUntil('"', '\\')).isEqualTo('\\');
+                state.next();
+                assertThat(state.skipUntil('"', '\\')).isEqualTo('"');
+                assertThat(state.next()).isEqualTo('z');
+                assertThat(state.skipUntil('"', '\\')).isEqualTo(ParseState.EOS);
+            }
+        }
+    }
+
+    @Test
+    public void testSkipWhitespace_stopsAtFirstNonWhitespaceAtEveryAlignment() {
+        for (int prefix = 0; prefix < 20; prefix++) {
+            String whitespace = " \n\t\r".repeat(prefix).substring(0, prefix);
+            for (ParseState state : states(whitespace + "\u000B  x")) {
+                state.skipWhitespace();
+                assertThat(state.current()).isEqualTo('x');
+            }
+            for (ParseState state : states(whitespace + "\u0000 ")) {
+                state.skipWhitespace();
+                assertThat(state.current()).isEqualTo(0);
+            }
+        }
+    }
+
+    private static ParseState[] states(String input) {
+        byte[] utf8 = input.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer direct = ByteBuffer.allocateDirect(utf8.length + 3);
+        direct.put(new byte[] {'"', '"', '"'}).put(utf8).position(3);
+        return new ParseState[] {
+            ParseState.of(input),
+            ParseState.of(utf8),
+            ParseState.of(direct),
+            ParseState.of(new StringReader(input), 4)
+        };
+    }
+
+    @Test
+    public void testInputStream_slicesAcrossRefills() {
+        String input = "a".repeat(100) + " " + "b".repeat(10);
+        ParseState state =
+                ParseState.of(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), 8);
+        ParseState.Mark first = state.mark();
+        while (state.current() != ' ') {
+            state.next();
+        }
+        assertThat(state.slice(first).toString()).isEqualTo("a".repeat(100));
+
+        state.skipWhitespace();
+        ParseState.Mark second = state.mark();
+        while (!state.isEndOfStream()) {
+            state.next();
+        }
+        assertThat(state.slice(second).toString()).isEqualTo("b".repeat(10));
+    }
+
+    @Test
+    public void testReader_discardsInputBeforeMostRecentMark() {
+        ParseState state = ParseState.of(new StringReader("abcdefghijklmnop"), 4);
+        ParseState.Mark first = state.mark();
+        state.next();
+        state.next();
+        ParseState.Mark second = state.mark();
+        for (int i = 0; i < 8; i++) {
+            state.next();
+        }
+
+        assertThat(state.slice(second).toString()).isEqualTo("cdefghij");
+        assertThatThrownBy(() -> state.slice(first))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("discarded");
+    }
+
+    @Test
+    public void testReader_errorLinesIncludeDiscardedInput() {
+        ParseState state = ParseState.of(new StringReader("line1\nline2\nline3 string"), 4);
+        for (int i = 0; i < 18; i++) {
+            state.next();
+        }
+
+        assertThat(Parsers.expect("other").parse(state).error().map(ParseError::errorString))
+                .contains(
+                        """
+                Parse error at line 3, column 7: Expected to find 'other':
+                line3 string
+                      ^
+                """);
+    }
+
+    @Test
+    public void testBytes_errorExcerptsOnlyTheErrorLine() {
+        ParseState state =
+                ParseState.of("line1\nline2 string\nline3".getBytes(StandardCharsets.UTF_8));
+        for (int i = 0; i < 12; i++) {
+            state.next();
+        }
+
+        assertThat(Parsers.expect("other").parse(state).error().map(ParseError::errorString))
+                .contains(
+                        """
+                Parse error at line 2, column 7: Expected to find 'other':
+                line2 string
+                      ^
+                """);
+    }
+
+    @Test
+    public void testFileChannel_mapsFile() throws IOException {
+        Path file = Files.createTempFile("parse-state", ".json");
+        try {
+            Files.writeString(file, "  mapped string");
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                channel.position(2);
+                ParseState state = ParseState.of(channel);
+                ParseState.Mark mark = state.mark();
+                while (!state.isEndOfStream()) {
+                    state.next();
+                }
+
+                assertThat(state.slice(mark).toString()).isEqualTo("mapped string");
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
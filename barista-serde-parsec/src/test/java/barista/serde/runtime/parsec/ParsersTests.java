@@ -2,6 +2,7 @@ package barista.serde.runtime.parsec;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import io.github.markelliot.result.Result;
 import org.junit.jupiter.api.Test;
 
 final class ParsersTests {
@@ -40,4 +41,45 @@ final class ParsersTests {
                 ^--^
             """);
     }
+
+    @Test
+    public void testDirect_recordsErrorOnState() {
+        ParseState state = ParseState.of("stri...not");
+        DirectParser<String> parser = Parsers.direct(Parsers.expect("string"));
+
+        assertThat(parser.parseDirect(state)).isNull();
+        assertThat(state.hasError()).isTrue();
+        assertThat(state.takeError().errorString())
+                .isEqualTo(
+                        """
+                Parse error at line 1, column 1: Expected to find 'string':
+                stri...not
+                ^--^
+                """);
+        assertThat(state.hasError()).isFalse();
+    }
+
+    @Test
+    public void testDirect_adaptsResultParsers() {
+        Parser<String> resultParser = state -> Result.error(state.mark().error("Always fails"));
+        DirectParser<String> parser = Parsers.direct(resultParser);
+        ParseState state = ParseState.of("x");
+
+        parser.parseDirect(state);
+        assertThat(state.takeError().message()).isEqualTo("Always fails");
+        assertThat(Parsers.direct(parser)).isSameAs(parser);
+    }
+
+    @Test
+    public void testMaybe_rewindsAndLeavesErrorOnState() {
+        ParseState state = ParseState.of("stri...not");
+        DirectParser<String> parser = Parsers.direct(Parsers.maybe(Parsers.expect("string")));
+
+        parser.parseDirect(state);
+        assertThat(state.hasError()).isTrue();
+        assertThat(state.current()).isEqualTo('s');
+
+        state.clearError();
+        assertThat(state.hasError()).isFalse();
+    }
 }
@@ -1,12 +1,21 @@
 package barista.serde.processor;
 
+import barista.serde.runtime.json.FieldNames;
 import barista.serde.runtime.json.JsonCharSeq;
 import barista.serde.runtime.json.JsonParsers;
+import barista.serde.runtime.json.JsonWriter;
+import barista.serde.runtime.json.ObjectBuilder;
+import barista.serde.runtime.json.Projection;
+import barista.serde.runtime.json.SerializationCache;
 import barista.serde.runtime.json.Serializers;
+import barista.serde.runtime.parsec.DirectParser;
+import barista.serde.runtime.parsec.Empty;
 import barista.serde.runtime.parsec.ParseError;
 import barista.serde.runtime.parsec.ParseState;
 import barista.serde.runtime.parsec.Parser;
+import barista.serde.runtime.parsec.Parsers;
 import com.google.common.collect.ImmutableSet;
+import com.squareup.javapoet.ArrayTypeName;
 import com.squareup.javapoet.ClassName;
 import com.squareup.javapoet.CodeBlock;
 import com.squareup.javapoet.FieldSpec;
@@ -15,9 +24,14 @@ import com.squareup.javapoet.MethodSpec;
 import com.squareup.javapoet.ParameterizedTypeName;
 import com.squareup.javapoet.TypeName;
 import com.squareup.javapoet.TypeSpec;
+import com.squareup.javapoet.WildcardTypeName;
 import io.github.markelliot.result.Result;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -27,18 +41,45 @@ import java.util.OptionalDouble;
 import java.util.OptionalInt;
 import java.util.OptionalLong;
 import java.util.Set;
-import java.util.StringJoiner;
 import java.util.function.Function;
+import java.util.stream.Stream;
 import javax.lang.model.element.Modifier;
 
 public final class JsonSerDeGenerator {
     private static final String CLASS_EXT = "JsonSerDe";
+    private static final String BUILDER_CLASS = "Builder";
+    private static final String SELECTION_CLASS = "Selection";
+    private static final String FIELD_NAMES = "FIELD_NAMES";
+    private static final String UNKNOWN_FIELD_PARSER = "UNKNOWN_FIELD";
+    private static final String CACHE = "CACHE";
 
     // TODO(markelliot): some options to consider in the future (in no particular order):
     //  - field name aliases
     //  - DateTimeFormatters for date-types (and support for date types)
     public record JsonField(String name, TypeName type) {}
 
+    /**
+     * Class-level options: the number of recently serialized values whose JSON is cached, and the
+     * size from which collection fields are serialized in parallel, each disabled when 0, and
+     * whether the record holds an {@link Iterable}, {@link Iterator} or {@link Stream}, directly or
+     * through nested records. Such records can be written only once, so they can't be measured in
+     * advance or cached.
+     */
+    public record Options(int cacheSize, int parallelThreshold, boolean streamed) {
+        public static final Options DEFAULTS = new Options(0, 0);
+
+        public Options {
+            if (streamed && cacheSize > 0) {
+                throw new IllegalArgumentException(
+                        "Records with Iterable, Iterator or Stream components cannot be cached");
+            }
+        }
+
+        public Options(int cacheSize, int parallelThreshold) {
+            this(cacheSize, parallelThreshold, false);
+        }
+    }
+
     private JsonSerDeGenerator() {}
 
     // TODO(markelliot): some class-level options to consider in the future:
@@ -51,56 +92,333 @@ public final class JsonSerDeGenerator {
     // TODO(markelliot): some validations here or at the call-site for this method:
     //  - map keys are String-ish or integer-ish
     public static JavaFile generate(ClassName originalClass, List<JsonField> fields) {
+        return generate(originalClass, fields, Options.DEFAULTS);
+    }
+
+    /**
+     * Generates a SerDe that, if {@code options.cacheSize()} is positive, keeps the JSON of that
+     * many recently serialized values in a {@link SerializationCache} and writes it for equal
+     * values, and that serializes collection fields holding at least {@code
+     * options.parallelThreshold()} items, if positive, on several threads.
+     */
+    public static JavaFile generate(
+            ClassName originalClass, List<JsonField> fields, Options options) {
+        int cacheSize = options.cacheSize();
         ClassName serDeClassName =
                 ClassName.get(originalClass.packageName(), originalClass.simpleName() + CLASS_EXT);
-        TypeSpec serializerClass =
+        TypeSpec.Builder serializerClass =
                 TypeSpec.classBuilder(serDeClassName.simpleName())
                         .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
-                        .addField(parserField(serDeClassName, originalClass, fields))
-                        .addMethod(
-                                MethodSpec.constructorBuilder()
-                                        .addModifiers(Modifier.PRIVATE)
-                                        .build())
-                        .addMethod(serializer(originalClass, fields))
-                        .addMethod(deserializer(originalClass))
-                        .addMethod(parserMethod(originalClass))
-                        .addMethod(mapper(originalClass, fields))
-                        .build();
-        return JavaFile.builder(originalClass.packageName(), serializerClass).build();
-    }
-
-    private static FieldSpec parserField(
-            ClassName serDeClassName, ClassName originalClass, List<JsonField> fields) {
-        TypeName parserType = ParameterizedTypeName.get(ClassName.get(Parser.class), originalClass);
-        CodeBlock fieldParserAssignments =
-                CodeBlock.join(
-                        fields.stream()
-                                .map(
-                                        field ->
-                                                CodeBlock.builder()
-                                                        .addStatement(
-                                                                "case $S -> $L",
-                                                                field.name,
-                                                                jsonParserCall(field.type))
-                                                        .build())
-                                .toList(),
-                        "");
+                        .addField(fieldNamesField(fields))
+                        .addFields(encodedNameFields(fields))
+                        .addField(parserField(originalClass));
+        if (cacheSize > 0) {
+            serializerClass.addField(cacheField(originalClass, cacheSize));
+        }
+        serializerClass
+                .addMethod(MethodSpec.constructorBuilder().addModifiers(Modifier.PRIVATE).build())
+                .addMethod(serializer(originalClass))
+                .addMethod(
+                        options.streamed()
+                                ? streamedBytesSerializer(originalClass, serDeClassName)
+                                : bytesSerializer(originalClass, serDeClassName));
+        if (cacheSize > 0) {
+            serializerClass
+                    .addMethod(cachedWriterSerializer(originalClass, serDeClassName))
+                    .addMethod(
+                            fieldsSerializer(originalClass, fields, options, "write")
+                                    .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+                                    .build())
+                    .addMethod(encoder(originalClass))
+                    .addMethod(cachedSerializedLength(originalClass))
+                    .addMethod(
+                            serializedLength(originalClass, fields, "computeLength")
+                                    .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+                                    .build());
+        } else {
+            serializerClass.addMethod(
+                    fieldsSerializer(originalClass, fields, options, "serialize")
+                            .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                            .build());
+            if (!options.streamed()) {
+                serializerClass.addMethod(
+                        serializedLength(originalClass, fields, "serializedLength")
+                                .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                                .build());
+            }
+        }
+        serializerClass
+                .addMethod(deserializer(originalClass, TypeName.get(JsonCharSeq.class)))
+                .addMethod(deserializer(originalClass, ArrayTypeName.of(TypeName.BYTE)))
+                .addMethod(deserializer(originalClass, TypeName.get(ByteBuffer.class)))
+                .addMethod(deserializer(originalClass, TypeName.get(InputStream.class)))
+                .addMethod(deserializer(originalClass, TypeName.get(Reader.class)))
+                .addMethod(parserMethod(originalClass))
+                .addMethod(projectedParserMethod(originalClass))
+                .addType(selectionClass(fields))
+                .addType(builderClass(originalClass, fields));
+        return JavaFile.builder(originalClass.packageName(), serializerClass.build()).build();
+    }
+
+    private static FieldSpec cacheField(ClassName originalClass, int cacheSize) {
+        return FieldSpec.builder(
+                        ParameterizedTypeName.get(
+                                ClassName.get(SerializationCache.class), originalClass),
+                        CACHE,
+                        Modifier.PRIVATE,
+                        Modifier.STATIC,
+                        Modifier.FINAL)
+                .initializer("new $T<>($L)", SerializationCache.class, cacheSize)
+                .build();
+    }
 
+    private static FieldSpec parserField(ClassName originalClass) {
+        TypeName parserType = ParameterizedTypeName.get(ClassName.get(Parser.class), originalClass);
         return FieldSpec.builder(
                         parserType, "PARSER", Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
                 .initializer(
-                        CodeBlock.builder()
-                                .add("$T.object(field -> switch (field) {", JsonParsers.class)
-                                .add(fieldParserAssignments)
-                                .addStatement("default -> $T.any()", JsonParsers.class)
-                                .add("},")
-                                .add("$T::map", serDeClassName)
-                                .add(")")
+                        "$T.object($N, $N::new)", JsonParsers.class, FIELD_NAMES, BUILDER_CLASS)
+                .build();
+    }
+
+    private static FieldSpec fieldNamesField(List<JsonField> fields) {
+        CodeBlock names =
+                CodeBlock.join(fields.stream().map(f -> CodeBlock.of("$S", f.name)).toList(), ", ");
+        return FieldSpec.builder(
+                        FieldNames.class,
+                        FIELD_NAMES,
+                        Modifier.PRIVATE,
+                        Modifier.STATIC,
+                        Modifier.FINAL)
+                .initializer("$T.of($L)", FieldNames.class, names)
+                .build();
+    }
+
+    /**
+     * Generates the UTF-8 encoded {@code "name":} prefix of each field, written before its value.
+     */
+    private static List<FieldSpec> encodedNameFields(List<JsonField> fields) {
+        List<FieldSpec> names = new ArrayList<>(fields.size());
+        for (int i = 0; i < fields.size(); i++) {
+            names.add(
+                    FieldSpec.builder(
+                                    ArrayTypeName.of(TypeName.BYTE),
+                                    encodedName(i),
+                                    Modifier.PRIVATE,
+                                    Modifier.STATIC,
+                                    Modifier.FINAL)
+                            .initializer("$T.encodeName($S)", JsonWriter.class, fields.get(i).name)
+                            .build());
+        }
+        return names;
+    }
+
+    /**
+     * Generates an {@link ObjectBuilder} that parses each field, identified by its index in {@code
+     * FIELD_NAMES}, straight into a typed slot (see {@link #slot}) using a shared {@link
+     * DirectParser}, tracks which fields were present with a bitmask and calls the canonical
+     * constructor directly. Fields that are themselves generated records are parsed with the
+     * parsers of the builder's {@code Selection}, so that they can be projected.
+     */
+    private static TypeSpec builderClass(ClassName originalClass, List<JsonField> fields) {
+        TypeSpec.Builder builder =
+                TypeSpec.classBuilder(BUILDER_CLASS)
+                        .addModifiers(Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                        .addSuperinterface(
+                                ParameterizedTypeName.get(
+                                        ClassName.get(ObjectBuilder.class), originalClass));
+
+        for (int i = 0; i < fields.size(); i++) {
+            JsonField field = fields.get(i);
+            if (primitiveParseCall(field.type).isPresent() || usesGeneratedParser(field.type)) {
+                continue;
+            }
+            builder.addField(
+                    FieldSpec.builder(
+                                    ParameterizedTypeName.get(
+                                            ClassName.get(DirectParser.class),
+                                            WildcardTypeName.subtypeOf(field.type.box())),
+                                    fieldParser(i),
+                                    Modifier.PRIVATE,
+                                    Modifier.STATIC,
+                                    Modifier.FINAL)
+                            .initializer("$T.direct($L)", Parsers.class, jsonParserCall(field.type))
+                            .build());
+        }
+        builder.addField(
+                FieldSpec.builder(
+                                ParameterizedTypeName.get(DirectParser.class, Empty.class),
+                                UNKNOWN_FIELD_PARSER,
+                                Modifier.PRIVATE,
+                                Modifier.STATIC,
+                                Modifier.FINAL)
+                        .initializer("$T.direct($T.skip())", Parsers.class, JsonParsers.class)
+                        .build());
+        for (JsonField field : fields) {
+            FieldSpec.Builder slot = FieldSpec.builder(field.type, slot(field), Modifier.PRIVATE);
+            emptyValue(field.type).ifPresent(slot::initializer);
+            builder.addField(slot.build());
+        }
+        ClassName selectionClass = ClassName.bestGuess(SELECTION_CLASS);
+        builder.addField(selectionClass, "selection", Modifier.PRIVATE, Modifier.FINAL);
+        MethodSpec.Builder constructor =
+                MethodSpec.constructorBuilder()
+                        .addParameter(selectionClass, "selection")
+                        .addStatement("this.selection = selection");
+        for (int word = 0; word < presenceWords(fields); word++) {
+            builder.addField(TypeName.LONG, presenceWord(word), Modifier.PRIVATE);
+            // excluded fields count as present, so they are not reported as missing
+            constructor.addStatement(
+                    "this.$N = selection.$N", presenceWord(word), excludedWord(word));
+        }
+        builder.addMethod(
+                        MethodSpec.constructorBuilder()
+                                .addStatement("this($N.ALL)", SELECTION_CLASS)
+                                .build())
+                .addMethod(constructor.build());
+
+        CodeBlock.Builder fieldCases = CodeBlock.builder().beginControlFlow("switch (field)");
+        for (int i = 0; i < fields.size(); i++) {
+            JsonField field = fields.get(i);
+            CodeBlock parseCall =
+                    primitiveParseCall(field.type)
+                            .orElse(
+                                    CodeBlock.of(
+                                            "$L.parseDirect(state)",
+                                            usesGeneratedParser(field.type)
+                                                    ? "selection." + selectedParser(i)
+                                                    : fieldParser(i)));
+            fieldCases
+                    .beginControlFlow("case $L ->", i)
+                    .addStatement("var value = $L", parseCall)
+                    .beginControlFlow("if (!state.hasError())")
+                    .addStatement("this.$N = value", slot(field))
+                    .addStatement("$N |= $L", presenceWord(i / 64), presenceBit(i))
+                    .endControlFlow()
+                    .endControlFlow();
+        }
+        fieldCases
+                .addStatement("default -> $N.parseDirect(state)", UNKNOWN_FIELD_PARSER)
+                .endControlFlow();
+
+        CodeBlock.Builder requiredChecks = CodeBlock.builder();
+        for (int i = 0; i < fields.size(); i++) {
+            JsonField field = fields.get(i);
+            if (field.type.isPrimitive()) {
+                requiredChecks
+                        .beginControlFlow(
+                                "if (($N & $L) == 0)", presenceWord(i / 64), presenceBit(i))
+                        .addStatement(
+                                "state.fail(state.markIndex(), $S)",
+                                "Missing required field '" + field.name + "'")
+                        .addStatement("return null")
+                        .endControlFlow();
+            }
+        }
+        CodeBlock args =
+                CodeBlock.join(
+                        fields.stream().map(f -> CodeBlock.of("this.$N", slot(f))).toList(), ", ");
+
+        return builder.addMethod(
+                        MethodSpec.methodBuilder("field")
+                                .addAnnotation(Override.class)
+                                .addModifiers(Modifier.PUBLIC)
+                                .addParameter(TypeName.INT, "field")
+                                .addParameter(ParseState.class, "state")
+                                .addCode(fieldCases.build())
+                                .build())
+                .addMethod(
+                        MethodSpec.methodBuilder("build")
+                                .addAnnotation(Override.class)
+                                .addModifiers(Modifier.PUBLIC)
+                                .returns(originalClass)
+                                .addParameter(ParseState.class, "state")
+                                .addCode(requiredChecks.build())
+                                .addStatement("return new $T($L)", originalClass, args)
                                 .build())
                 .build();
     }
 
+    /** Returns the value a field takes when it is absent from the parsed object, if any. */
+    private static Optional<CodeBlock> emptyValue(TypeName type) {
+        if (type instanceof ParameterizedTypeName ptn
+                && ptn.rawType.equals(ClassName.get(Optional.class))) {
+            return Optional.of(CodeBlock.of("$T.empty()", Optional.class));
+        }
+        if (type.equals(ClassName.get(OptionalInt.class))
+                || type.equals(ClassName.get(OptionalLong.class))
+                || type.equals(ClassName.get(OptionalDouble.class))) {
+            return Optional.of(CodeBlock.of("$T.empty()", type));
+        }
+        return Optional.empty();
+    }
+
+    /** Returns a call that parses {@code type} without boxing, if there is one. */
+    private static Optional<CodeBlock> primitiveParseCall(TypeName type) {
+        String method;
+        if (type.equals(TypeName.BYTE)) {
+            method = "parseByte";
+        } else if (type.equals(TypeName.SHORT)) {
+            method = "parseShort";
+        } else if (type.equals(TypeName.INT)) {
+            method = "parseInt";
+        } else if (type.equals(TypeName.LONG)) {
+            method = "parseLong";
+        } else if (type.equals(TypeName.FLOAT)) {
+            method = "parseFloat";
+        } else if (type.equals(TypeName.DOUBLE)) {
+            method = "parseDouble";
+        } else {
+            return Optional.empty();
+        }
+        return Optional.of(CodeBlock.of("$T.$N(state)", JsonParsers.class, method));
+    }
+
+    /**
+     * Returns the name of the builder field holding {@code field}'s value, which is prefixed so
+     * that no component name can clash with the builder's own members.
+     */
+    private static String slot(JsonField field) {
+        return "$" + field.name;
+    }
+
+    private static String encodedName(int index) {
+        return "NAME_" + index;
+    }
+
+    private static String fieldParser(int index) {
+        return "PARSER_" + index;
+    }
+
+    private static String selectedParser(int index) {
+        return "parser" + index;
+    }
+
+    private static int presenceWords(List<JsonField> fields) {
+        return (fields.size() + 63) / 64;
+    }
+
+    private static String presenceWord(int word) {
+        return "present" + word;
+    }
+
+    private static String excludedWord(int word) {
+        return "excluded" + word;
+    }
+
+    private static String presenceBit(int fieldIndex) {
+        return "0x" + Long.toHexString(1L << (fieldIndex % 64)) + "L";
+    }
+
     private static CodeBlock jsonParserCall(TypeName type) {
+        return jsonParserCall(type, null);
+    }
+
+    /**
+     * Returns a parser for {@code type} that, if {@code projection} is not null, applies that
+     * projection to any generated parser it uses.
+     */
+    private static CodeBlock jsonParserCall(TypeName type, CodeBlock projection) {
         // primitives
         if (type.equals(ClassName.get(Boolean.class)) || type.equals(TypeName.BOOLEAN)) {
             return CodeBlock.of("$T.booleanParser()", JsonParsers.class);
@@ -141,17 +459,26 @@ public final class JsonSerDeGenerator {
             return CodeBlock.of("$T.optionalDouble()", JsonParsers.class);
         }
 
+        // primitive arrays
+        if (isPrimitiveArray(type)) {
+            TypeName componentType = ((ArrayTypeName) type).componentType;
+            return CodeBlock.of("$T.$N()", JsonParsers.class, componentType + "Array");
+        }
+
         // parameterized intrinsics
         if (type instanceof ParameterizedTypeName parameterizedType) {
             ClassName rawType = parameterizedType.rawType;
             if (rawType.equals(ClassName.get(Optional.class))) {
-                CodeBlock valueParser = jsonParserCall(parameterizedType.typeArguments.get(0));
+                CodeBlock valueParser =
+                        jsonParserCall(parameterizedType.typeArguments.get(0), projection);
                 return CodeBlock.of("$T.optional($L)", JsonParsers.class, valueParser);
             }
 
             if (rawType.equals(ClassName.get(Collection.class))
-                    || rawType.equals(ClassName.get(List.class))) {
-                CodeBlock valueParser = jsonParserCall(parameterizedType.typeArguments.get(0));
+                    || rawType.equals(ClassName.get(List.class))
+                    || rawType.equals(ClassName.get(Iterable.class))) {
+                CodeBlock valueParser =
+                        jsonParserCall(parameterizedType.typeArguments.get(0), projection);
                 return CodeBlock.of(
                         "$T.collection($L, $T::new)",
                         JsonParsers.class,
@@ -159,8 +486,24 @@ public final class JsonSerDeGenerator {
                         ArrayList.class);
             }
 
+            if (rawType.equals(ClassName.get(Stream.class))
+                    || rawType.equals(ClassName.get(Iterator.class))) {
+                // streamed components are read back from a list
+                CodeBlock valueParser =
+                        jsonParserCall(parameterizedType.typeArguments.get(0), projection);
+                return CodeBlock.of(
+                        "$T.composeResult($T.collection($L, $T::new), $T::$N)",
+                        Parsers.class,
+                        JsonParsers.class,
+                        valueParser,
+                        ArrayList.class,
+                        ArrayList.class,
+                        rawType.equals(ClassName.get(Stream.class)) ? "stream" : "iterator");
+            }
+
             if (rawType.equals(ClassName.get(Set.class))) {
-                CodeBlock valueParser = jsonParserCall(parameterizedType.typeArguments.get(0));
+                CodeBlock valueParser =
+                        jsonParserCall(parameterizedType.typeArguments.get(0), projection);
                 return CodeBlock.of(
                         "$T.collection($L, $T::new)",
                         JsonParsers.class,
@@ -169,8 +512,21 @@ public final class JsonSerDeGenerator {
             }
 
             if (rawType.equals(ClassName.get(Map.class))) {
-                CodeBlock keyParser = getKeyFn(parameterizedType.typeArguments.get(0));
-                CodeBlock valueParser = jsonParserCall(parameterizedType.typeArguments.get(1));
+                TypeName keyType = parameterizedType.typeArguments.get(0);
+                CodeBlock valueParser =
+                        jsonParserCall(parameterizedType.typeArguments.get(1), projection);
+                if (isNumericKey(keyType)) {
+                    // parse numeric keys directly rather than through a String
+                    return CodeBlock.of(
+                            "$T.$N($L, $T::new)",
+                            JsonParsers.class,
+                            keyType.equals(ClassName.get(Integer.class))
+                                    ? "integerKeyMap"
+                                    : "longKeyMap",
+                            valueParser,
+                            LinkedHashMap.class);
+                }
+                CodeBlock keyParser = getKeyFn(keyType);
                 return CodeBlock.of(
                         "$T.map($L, $L, $T::new)",
                         JsonParsers.class,
@@ -182,16 +538,30 @@ public final class JsonSerDeGenerator {
 
         // TODO(markelliot): catch and warn on unsupported java.* types
 
-        return useGeneratedParser(type);
+        return useGeneratedParser(type, projection);
     }
 
-    private static CodeBlock useGeneratedParser(TypeName type) {
+    private static CodeBlock useGeneratedParser(TypeName type, CodeBlock projection) {
         if (!(type instanceof ClassName className)) {
             throw new IllegalStateException("Unexpected type: " + type.toString());
         }
         return CodeBlock.of(
-                "$T.parser()",
-                ClassName.get(className.packageName(), className.simpleName() + CLASS_EXT));
+                "$T.parser($L)",
+                ClassName.get(className.packageName(), className.simpleName() + CLASS_EXT),
+                projection == null ? CodeBlock.of("") : projection);
+    }
+
+    /**
+     * Returns whether {@code type} is parsed with another generated parser, whose fields can be
+     * projected in turn.
+     */
+    private static boolean usesGeneratedParser(TypeName type) {
+        if (type instanceof ParameterizedTypeName parameterizedType) {
+            // the value type of maps, or the element type of everything else
+            List<TypeName> typeArguments = parameterizedType.typeArguments;
+            return usesGeneratedParser(typeArguments.get(typeArguments.size() - 1));
+        }
+        return type instanceof ClassName className && !className.packageName().startsWith("java.");
     }
 
     private static CodeBlock getKeyFn(TypeName type) {
@@ -201,10 +571,10 @@ public final class JsonSerDeGenerator {
         return CodeBlock.of("$T::valueOf", type);
     }
 
-    private static MethodSpec deserializer(ClassName originalClass) {
+    private static MethodSpec deserializer(ClassName originalClass, TypeName inputType) {
         return MethodSpec.methodBuilder("deserialize")
                 .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
-                .addParameter(JsonCharSeq.class, "json")
+                .addParameter(inputType, "json")
                 .returns(
                         ParameterizedTypeName.get(
                                 ClassName.get(Result.class),
@@ -214,133 +584,393 @@ public final class JsonSerDeGenerator {
                 .build();
     }
 
-    private static MethodSpec mapper(ClassName originalClass, List<JsonField> fields) {
-        CodeBlock args =
-                CodeBlock.join(
-                        fields.stream().map(JsonSerDeGenerator::getMapperCall).toList(), ",");
-        return MethodSpec.methodBuilder("map")
-                .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
-                .returns(originalClass)
-                .addParameter(
-                        ParameterizedTypeName.get(Map.class, String.class, Object.class), "map")
-                .addStatement("return new $T($L)", originalClass, args)
+    private static MethodSpec parserMethod(ClassName originalClass) {
+        return MethodSpec.methodBuilder("parser")
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                .returns(ParameterizedTypeName.get(ClassName.get(Parser.class), originalClass))
+                .addStatement("return PARSER")
                 .build();
     }
 
-    private static CodeBlock getMapperCall(JsonField f) {
-        if (f.type instanceof ParameterizedTypeName ptn
-                && ptn.rawType.equals(ClassName.get(Optional.class))) {
-            return CodeBlock.of(
-                    "($T) map.getOrDefault($S, $T.empty())", f.type, f.name, Optional.class);
-        }
-        return CodeBlock.of("($T) map.get($S)", f.type, f.name);
-    }
-
-    private static MethodSpec parserMethod(ClassName originalClass) {
+    private static MethodSpec projectedParserMethod(ClassName originalClass) {
         return MethodSpec.methodBuilder("parser")
+                .addJavadoc(
+                        "Returns a parser that reads only the fields selected by {@code"
+                                + " projection}.\n")
                 .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                .addParameter(Projection.class, "projection")
                 .returns(ParameterizedTypeName.get(ClassName.get(Parser.class), originalClass))
+                .beginControlFlow("if (projection.isAll())")
                 .addStatement("return PARSER")
+                .endControlFlow()
+                .addStatement("$T fields = projection.select($N)", FieldNames.class, FIELD_NAMES)
+                .addStatement("$N selection = new $N(projection)", SELECTION_CLASS, SELECTION_CLASS)
+                .addStatement(
+                        "return $T.object(fields, () -> new $N(selection))",
+                        JsonParsers.class,
+                        BUILDER_CLASS)
                 .build();
     }
 
-    private static MethodSpec serializer(ClassName originalClass, List<JsonField> fields) {
-        CodeBlock fieldSerializers =
-                fields.stream()
-                        .map(JsonSerDeGenerator::generateFieldSerializationCode)
-                        .collect(CodeBlock.joining(""));
+    /**
+     * Generates the per-projection state of parsing: which fields are excluded, as a mask per
+     * presence word, and parsers for the fields that are parsed with other, projected, generated
+     * parsers. Fields that are excluded get no parser, which keeps recursive records finite.
+     */
+    private static TypeSpec selectionClass(List<JsonField> fields) {
+        TypeSpec.Builder selection =
+                TypeSpec.classBuilder(SELECTION_CLASS)
+                        .addModifiers(Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                        .addField(
+                                FieldSpec.builder(
+                                                ClassName.bestGuess(SELECTION_CLASS),
+                                                "ALL",
+                                                Modifier.PRIVATE,
+                                                Modifier.STATIC,
+                                                Modifier.FINAL)
+                                        .initializer(
+                                                "new $N($T.all())",
+                                                SELECTION_CLASS,
+                                                Projection.class)
+                                        .build());
+        MethodSpec.Builder constructor =
+                MethodSpec.constructorBuilder()
+                        .addModifiers(Modifier.PRIVATE)
+                        .addParameter(Projection.class, "projection");
+        for (int word = 0; word < presenceWords(fields); word++) {
+            selection.addField(TypeName.LONG, excludedWord(word), Modifier.PRIVATE, Modifier.FINAL);
+            constructor.addStatement(
+                    "this.$N = projection.excluded($N, $L)", excludedWord(word), FIELD_NAMES, word);
+        }
+        for (int i = 0; i < fields.size(); i++) {
+            JsonField field = fields.get(i);
+            if (!usesGeneratedParser(field.type)) {
+                continue;
+            }
+            selection.addField(
+                    ParameterizedTypeName.get(
+                            ClassName.get(DirectParser.class),
+                            WildcardTypeName.subtypeOf(field.type.box())),
+                    selectedParser(i),
+                    Modifier.PRIVATE,
+                    Modifier.FINAL);
+            constructor.addStatement(
+                    "this.$N = projection.includes($S) ? $T.direct($L) : null",
+                    selectedParser(i),
+                    field.name,
+                    Parsers.class,
+                    jsonParserCall(field.type, CodeBlock.of("projection.field($S)", field.name)));
+        }
+        return selection.addMethod(constructor.build()).build();
+    }
 
+    private static MethodSpec serializer(ClassName originalClass) {
         return MethodSpec.methodBuilder("serialize")
                 .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
                 .addParameter(originalClass, "value")
                 .returns(JsonCharSeq.class)
+                .beginControlFlow(
+                        "try ($T writer = $T.recycled())", JsonWriter.class, JsonWriter.class)
+                .addStatement("serialize(value, writer)")
+                .addStatement("return writer.toJson()")
+                .endControlFlow()
+                .build();
+    }
+
+    private static MethodSpec.Builder fieldsSerializer(
+            ClassName originalClass, List<JsonField> fields, Options options, String name) {
+        CodeBlock.Builder fieldSerializers = CodeBlock.builder();
+        for (int i = 0; i < fields.size(); i++) {
+            fieldSerializers.add(
+                    generateFieldSerializationCode(fields.get(i), i, options.parallelThreshold()));
+        }
+
+        return MethodSpec.methodBuilder(name)
+                .addParameter(originalClass, "value")
+                .addParameter(JsonWriter.class, "writer")
+                .addStatement("writer.beginObject()")
+                .addCode(fieldSerializers.build())
+                .addStatement("writer.endObject()");
+    }
+
+    /**
+     * Generates a {@code serialize} that splices in the cached JSON of the value, which is written
+     * with the default options, or writes the value afresh for writers with other options.
+     */
+    private static MethodSpec cachedWriterSerializer(
+            ClassName originalClass, ClassName serDeClassName) {
+        return MethodSpec.methodBuilder("serialize")
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                .addParameter(originalClass, "value")
+                .addParameter(JsonWriter.class, "writer")
+                .beginControlFlow("if (!writer.escapesSlash())")
+                .addStatement("write(value, writer)")
+                .addStatement("return")
+                .endControlFlow()
+                .addStatement(
+                        "writer.rawValue($N.computeIfAbsent(value, $T::encode))",
+                        CACHE,
+                        serDeClassName)
+                .build();
+    }
+
+    /** Generates the method that encodes a value on a cache miss. */
+    private static MethodSpec encoder(ClassName originalClass) {
+        return MethodSpec.methodBuilder("encode")
+                .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+                .addParameter(originalClass, "value")
+                .returns(ArrayTypeName.of(TypeName.BYTE))
                 .addStatement(
-                        "$T sj = new $T(\",\", \"{\", \"}\")",
-                        StringJoiner.class,
-                        StringJoiner.class)
-                .addCode(fieldSerializers)
-                .addStatement("return new $T(sj.toString())", JsonCharSeq.class)
+                        "$T writer = new $T(computeLength(value))",
+                        JsonWriter.class,
+                        JsonWriter.class)
+                .addStatement("write(value, writer)")
+                .addStatement("return writer.toByteArray()")
                 .build();
     }
 
-    private static CodeBlock generateFieldSerializationCode(JsonField field) {
+    private static MethodSpec cachedSerializedLength(ClassName originalClass) {
+        return MethodSpec.methodBuilder("serializedLength")
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                .addParameter(originalClass, "value")
+                .returns(TypeName.INT)
+                .addStatement("byte[] cached = $N.get(value)", CACHE)
+                .addStatement("return cached != null ? cached.length : computeLength(value)")
+                .build();
+    }
+
+    private static MethodSpec bytesSerializer(ClassName originalClass, ClassName serDeClassName) {
+        return MethodSpec.methodBuilder("serializeToBytes")
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                .addParameter(originalClass, "value")
+                .returns(ArrayTypeName.of(TypeName.BYTE))
+                .addStatement(
+                        "return $T.serializeToBytes(value, $T::serializedLength, $T::serialize)",
+                        Serializers.class,
+                        serDeClassName,
+                        serDeClassName)
+                .build();
+    }
+
+    /**
+     * Generates a {@code serializeToBytes} for streamed records, which writes into a growable
+     * buffer rather than measuring the value first.
+     */
+    private static MethodSpec streamedBytesSerializer(
+            ClassName originalClass, ClassName serDeClassName) {
+        return MethodSpec.methodBuilder("serializeToBytes")
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                .addParameter(originalClass, "value")
+                .returns(ArrayTypeName.of(TypeName.BYTE))
+                .addStatement(
+                        "return $T.serializeToBytes(value, $T::serialize)",
+                        Serializers.class,
+                        serDeClassName)
+                .build();
+    }
+
+    /**
+     * Generates a method computing the exact number of UTF-8 bytes {@code serialize} writes for a
+     * value, mirroring the fields it writes.
+     */
+    private static MethodSpec.Builder serializedLength(
+            ClassName originalClass, List<JsonField> fields, String name) {
+        MethodSpec.Builder method =
+                MethodSpec.methodBuilder(name)
+                        .addParameter(originalClass, "value")
+                        .returns(TypeName.INT)
+                        .addStatement("int length = 0")
+                        .addStatement("int fields = 0");
+        for (int i = 0; i < fields.size(); i++) {
+            JsonField field = fields.get(i);
+            CodeBlock lengthCode =
+                    lengthCall(field.type, CodeBlock.of("value.$N()", field.name), 0);
+            boolean isNullable = !field.type.isPrimitive();
+            if (isNullable) {
+                method.beginControlFlow("$L", fieldPresentCondition(field));
+            }
+            method.addStatement("length += $N.length + $L", encodedName(i), lengthCode);
+            method.addStatement("fields++");
+            if (isNullable) {
+                method.endControlFlow();
+            }
+        }
+        // braces and the commas between fields
+        return method.addStatement("return length + 2 + $T.max(fields - 1, 0)", Math.class);
+    }
+
+    private static CodeBlock generateFieldSerializationCode(
+            JsonField field, int index, int parallelThreshold) {
         boolean isNullable = !field.type.isPrimitive();
 
-        CodeBlock serializerCode =
-                serializerCall(field.type, CodeBlock.of("value.$N()", field.name), 0);
+        CodeBlock accessor = CodeBlock.of("value.$N()", field.name);
+        CodeBlock serializerCode;
+        if (parallelThreshold > 0
+                && field.type instanceof ParameterizedTypeName parameterizedType
+                && isCollection(parameterizedType.rawType)) {
+            serializerCode =
+                    CodeBlock.of(
+                            "$T.serialize($L, ($N, $N) -> $L, $L, writer)",
+                            Serializers.class,
+                            accessor,
+                            lambdaParam("v", 0),
+                            lambdaParam("w", 0),
+                            serializerCall(
+                                    parameterizedType.typeArguments.get(0),
+                                    CodeBlock.of("$N", lambdaParam("v", 0)),
+                                    CodeBlock.of("$N", lambdaParam("w", 0)),
+                                    1),
+                            parallelThreshold);
+        } else {
+            serializerCode = serializerCall(field.type, accessor, CodeBlock.of("writer"), 0);
+        }
 
         CodeBlock.Builder cb = CodeBlock.builder();
         if (isNullable) {
-            if ((field.type instanceof ParameterizedTypeName ptn
-                            && ptn.rawType.equals(ClassName.get(Optional.class)))
-                    || field.type.equals(ClassName.get(OptionalInt.class))
-                    || field.type.equals(ClassName.get(OptionalLong.class))
-                    || field.type.equals(ClassName.get(OptionalDouble.class))) {
-                cb.beginControlFlow(
-                        "if (value.$N() != null && value.$N().isPresent())",
-                        field.name,
-                        field.name);
-            } else {
-                cb.beginControlFlow("if (value.$N() != null)", field.name);
-            }
+            cb.beginControlFlow("$L", fieldPresentCondition(field));
         }
-        cb.addStatement("sj.add($S + $L)", "\"" + field.name + "\":", serializerCode);
+        cb.addStatement("writer.name($N)", encodedName(index));
+        cb.addStatement("$L", serializerCode);
         if (isNullable) {
             cb.endControlFlow();
         }
         return cb.build();
     }
 
+    /** Returns the condition under which a nullable field is written. */
+    private static CodeBlock fieldPresentCondition(JsonField field) {
+        if ((field.type instanceof ParameterizedTypeName ptn
+                        && ptn.rawType.equals(ClassName.get(Optional.class)))
+                || field.type.equals(ClassName.get(OptionalInt.class))
+                || field.type.equals(ClassName.get(OptionalLong.class))
+                || field.type.equals(ClassName.get(OptionalDouble.class))) {
+            return CodeBlock.of(
+                    "if (value.$N() != null && value.$N().isPresent())", field.name, field.name);
+        }
+        return CodeBlock.of("if (value.$N() != null)", field.name);
+    }
+
     private static final Set<TypeName> SIMPLE_INTRINSICS =
             ImmutableSet.of(
                     ClassName.get(String.class), ClassName.get(OptionalInt.class),
                     ClassName.get(OptionalLong.class), ClassName.get(OptionalDouble.class));
 
+    private static final Set<TypeName> PRIMITIVE_ARRAY_COMPONENTS =
+            ImmutableSet.of(
+                    TypeName.INT, TypeName.LONG, TypeName.FLOAT, TypeName.DOUBLE, TypeName.BOOLEAN);
+
     private static CodeBlock serializerCall(
-            TypeName type, CodeBlock fieldAccessor, int roundNumber) {
+            TypeName type, CodeBlock fieldAccessor, CodeBlock writer, int roundNumber) {
         // it's intrinsic but has no type parameters
         if (isSimpleIntrinsic(type)) {
-            return CodeBlock.of("$T.serialize($L)", Serializers.class, fieldAccessor);
+            return CodeBlock.of("$T.serialize($L, $L)", Serializers.class, fieldAccessor, writer);
         }
 
         if (type instanceof ParameterizedTypeName parameterizedType) {
             // it's intrinsic and since we're here must have type parameters
             ClassName rawType = parameterizedType.rawType;
+            String innerWriter = lambdaParam("w", roundNumber);
             if (isSingleParamIntrinsic(rawType)) {
                 TypeName innerType = parameterizedType.typeArguments.get(0);
                 return CodeBlock.of(
-                        "$T.serialize($L, $N -> $L)",
+                        "$T.serialize($L, ($N, $N) -> $L, $L)",
                         Serializers.class,
                         fieldAccessor,
                         lambdaParam("v", roundNumber),
+                        innerWriter,
                         serializerCall(
                                 innerType,
                                 CodeBlock.of("$N", lambdaParam("v", roundNumber)),
-                                roundNumber + 1));
+                                CodeBlock.of("$N", innerWriter),
+                                roundNumber + 1),
+                        writer);
             }
 
             if (isDualParamIntrinsic(rawType)) {
                 TypeName keyType = parameterizedType.typeArguments.get(0);
                 TypeName valueType = parameterizedType.typeArguments.get(1);
                 return CodeBlock.of(
-                        "$T.serialize($L, $N -> $L, $N -> $L)",
+                        "$T.serialize($L, ($N, $N) -> $L, ($N, $N) -> $L, $L)",
                         Serializers.class,
                         fieldAccessor,
                         lambdaParam("k", roundNumber),
-                        serializerCall(
-                                keyType,
-                                CodeBlock.of("$N", lambdaParam("k", roundNumber)),
-                                roundNumber + 1),
+                        innerWriter,
+                        isNumericKey(keyType)
+                                ? CodeBlock.of(
+                                        "$T.serializeKey($N, $N)",
+                                        Serializers.class,
+                                        lambdaParam("k", roundNumber),
+                                        innerWriter)
+                                : serializerCall(
+                                        keyType,
+                                        CodeBlock.of("$N", lambdaParam("k", roundNumber)),
+                                        CodeBlock.of("$N", innerWriter),
+                                        roundNumber + 1),
                         lambdaParam("v", roundNumber),
+                        innerWriter,
                         serializerCall(
                                 valueType,
                                 CodeBlock.of("$N", lambdaParam("v", roundNumber)),
-                                roundNumber + 1));
+                                CodeBlock.of("$N", innerWriter),
+                                roundNumber + 1),
+                        writer);
             }
         }
 
         // is either not an intrinsic or at least not a supported intrinsic
-        return useGeneratedSerializer(type, fieldAccessor);
+        return useGeneratedSerializer(type, fieldAccessor, writer);
+    }
+
+    /** Mirrors {@link #serializerCall}, returning the length of what it writes. */
+    private static CodeBlock lengthCall(TypeName type, CodeBlock fieldAccessor, int roundNumber) {
+        if (isSimpleIntrinsic(type)) {
+            return CodeBlock.of("$T.serializedLength($L)", Serializers.class, fieldAccessor);
+        }
+
+        if (type instanceof ParameterizedTypeName parameterizedType) {
+            ClassName rawType = parameterizedType.rawType;
+            if (isSingleParamIntrinsic(rawType)) {
+                String value = lambdaParam("v", roundNumber);
+                return CodeBlock.of(
+                        "$T.serializedLength($L, $N -> $L)",
+                        Serializers.class,
+                        fieldAccessor,
+                        value,
+                        lengthCall(
+                                parameterizedType.typeArguments.get(0),
+                                CodeBlock.of("$N", value),
+                                roundNumber + 1));
+            }
+
+            if (isDualParamIntrinsic(rawType)) {
+                String key = lambdaParam("k", roundNumber);
+                String value = lambdaParam("v", roundNumber);
+                return CodeBlock.of(
+                        "$T.serializedLength($L, $N -> $L, $N -> $L)",
+                        Serializers.class,
+                        fieldAccessor,
+                        key,
+                        isNumericKey(parameterizedType.typeArguments.get(0))
+                                ? CodeBlock.of("$T.serializedKeyLength($N)", Serializers.class, key)
+                                : lengthCall(
+                                        parameterizedType.typeArguments.get(0),
+                                        CodeBlock.of("$N", key),
+                                        roundNumber + 1),
+                        value,
+                        lengthCall(
+                                parameterizedType.typeArguments.get(1),
+                                CodeBlock.of("$N", value),
+                                roundNumber + 1));
+            }
+        }
+
+        if (!(type instanceof ClassName className)) {
+            throw new IllegalStateException("Unexpected type: " + type.toString());
+        }
+        return CodeBlock.of(
+                "$T.serializedLength($L)",
+                ClassName.get(className.packageName(), className.simpleName() + CLASS_EXT),
+                fieldAccessor);
     }
 
     private static String lambdaParam(String paramName, int roundNumber) {
@@ -350,23 +980,46 @@ public final class JsonSerDeGenerator {
         return paramName + roundNumber;
     }
 
-    private static CodeBlock useGeneratedSerializer(TypeName type, CodeBlock fieldAccessor) {
+    private static CodeBlock useGeneratedSerializer(
+            TypeName type, CodeBlock fieldAccessor, CodeBlock writer) {
         if (!(type instanceof ClassName className)) {
             throw new IllegalStateException("Unexpected type: " + type.toString());
         }
         return CodeBlock.of(
-                "$T.serialize($L)",
+                "$T.serialize($L, $L)",
                 ClassName.get(className.packageName(), className.simpleName() + CLASS_EXT),
-                fieldAccessor);
+                fieldAccessor,
+                writer);
     }
 
     private static boolean isSimpleIntrinsic(TypeName type) {
-        return type.isPrimitive() || type.isBoxedPrimitive() || SIMPLE_INTRINSICS.contains(type);
+        return type.isPrimitive()
+                || type.isBoxedPrimitive()
+                || SIMPLE_INTRINSICS.contains(type)
+                || isPrimitiveArray(type);
+    }
+
+    /** Returns whether {@code type} is an array with dedicated unboxed parsers and serializers. */
+    private static boolean isPrimitiveArray(TypeName type) {
+        return type instanceof ArrayTypeName arrayType
+                && PRIMITIVE_ARRAY_COMPONENTS.contains(arrayType.componentType);
+    }
+
+    /** Returns whether {@code type} is a map key written and parsed as a quoted number. */
+    private static boolean isNumericKey(TypeName type) {
+        return type.equals(ClassName.get(Integer.class)) || type.equals(ClassName.get(Long.class));
     }
 
     private static boolean isSingleParamIntrinsic(TypeName type) {
         return type.equals(ClassName.get(Optional.class))
-                || type.equals(ClassName.get(Collection.class))
+                || isCollection(type)
+                || type.equals(ClassName.get(Iterable.class))
+                || type.equals(ClassName.get(Iterator.class))
+                || type.equals(ClassName.get(Stream.class));
+    }
+
+    private static boolean isCollection(TypeName type) {
+        return type.equals(ClassName.get(Collection.class))
                 || type.equals(ClassName.get(Set.class))
                 || type.equals(ClassName.get(List.class));
     }
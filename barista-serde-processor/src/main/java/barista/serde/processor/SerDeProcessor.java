@@ -2,6 +2,7 @@ package barista.serde.processor;
 
 import barista.serde.annotations.SerDe;
 import barista.serde.processor.JsonSerDeGenerator.JsonField;
+import barista.serde.processor.JsonSerDeGenerator.Options;
 import com.google.auto.service.AutoService;
 import com.google.googlejavaformat.java.Formatter;
 import com.google.googlejavaformat.java.JavaFormatterOptions;
@@ -13,9 +14,12 @@ import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.io.Writer;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Stream;
 import javax.annotation.processing.AbstractProcessor;
 import javax.annotation.processing.Filer;
 import javax.annotation.processing.Processor;
@@ -27,6 +31,9 @@ import javax.lang.model.element.Element;
 import javax.lang.model.element.ElementKind;
 import javax.lang.model.element.RecordComponentElement;
 import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
 import javax.tools.Diagnostic;
 import javax.tools.JavaFileObject;
 
@@ -34,6 +41,8 @@ import javax.tools.JavaFileObject;
 @SupportedAnnotationTypes({"barista.serde.annotations.SerDe.Json"})
 @SupportedSourceVersion(SourceVersion.RELEASE_16)
 public final class SerDeProcessor extends AbstractProcessor {
+    private static final Set<String> STREAMED_TYPES =
+            Set.of(Iterable.class.getName(), Iterator.class.getName(), Stream.class.getName());
 
     @Override
     public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
@@ -112,13 +121,64 @@ public final class SerDeProcessor extends AbstractProcessor {
                                                         rce.getSimpleName().toString(),
                                                         ClassName.get(rce.asType())))
                                 .toList();
+                SerDe.Json json = classElement.getAnnotation(SerDe.Json.class);
+                if (json.cacheSize() < 0 || json.parallelThreshold() < 0) {
+                    error(
+                            "SerDe.Json cacheSize and parallelThreshold must not be negative",
+                            element);
+                    continue;
+                }
+                boolean streamed = isStreamed(classElement, new HashSet<>());
+                if (streamed && json.cacheSize() > 0) {
+                    error(
+                            "SerDe.Json cacheSize is not supported for records with Iterable,"
+                                    + " Iterator or Stream components",
+                            element);
+                    continue;
+                }
                 filesFromRound.add(
-                        JsonSerDeGenerator.generate(ClassName.get(classElement), fields));
+                        JsonSerDeGenerator.generate(
+                                ClassName.get(classElement),
+                                fields,
+                                new Options(json.cacheSize(), json.parallelThreshold(), streamed)));
             }
         }
         return filesFromRound;
     }
 
+    /**
+     * Returns whether a component of {@code record}, or of a record nested in it, holds an
+     * Iterable, Iterator or Stream, which can be written only once.
+     */
+    private static boolean isStreamed(TypeElement record, Set<TypeElement> visited) {
+        if (!visited.add(record)) {
+            return false;
+        }
+        for (RecordComponentElement component : record.getRecordComponents()) {
+            if (isStreamed(component.asType(), visited)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isStreamed(TypeMirror type, Set<TypeElement> visited) {
+        if (type.getKind() != TypeKind.DECLARED) {
+            return false;
+        }
+        DeclaredType declaredType = (DeclaredType) type;
+        TypeElement element = (TypeElement) declaredType.asElement();
+        if (STREAMED_TYPES.contains(element.getQualifiedName().toString())) {
+            return true;
+        }
+        for (TypeMirror typeArgument : declaredType.getTypeArguments()) {
+            if (isStreamed(typeArgument, visited)) {
+                return true;
+            }
+        }
+        return ElementKind.RECORD.equals(element.getKind()) && isStreamed(element, visited);
+    }
+
     private void error(String message, Element element) {
         processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
     }
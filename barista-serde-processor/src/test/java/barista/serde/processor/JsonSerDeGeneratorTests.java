@@ -1,12 +1,29 @@
 package barista.serde.processor;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import barista.serde.annotations.SerDe;
 import barista.serde.runtime.json.JsonCharSeq;
+import barista.serde.runtime.json.JsonWriter;
+import barista.serde.runtime.json.Projection;
+import barista.serde.runtime.parsec.ParseError;
+import barista.serde.runtime.parsec.ParseState;
+import barista.serde.runtime.parsec.Parser;
 import com.google.common.collect.ImmutableMap;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.Set;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.Test;
 
 final class JsonSerDeGeneratorTests {
@@ -26,6 +43,237 @@ final class JsonSerDeGeneratorTests {
     @SerDe.Json
     public record OtherRecord(Map<String, TestRecord> otherRecordField) {}
 
+    @SerDe.Json
+    public record PrimitivesRecord(int count, OptionalInt maybeCount, List<String> names) {}
+
+    @SerDe.Json(cacheSize = 16)
+    public record CachedRecord(String name, String url) {}
+
+    @SerDe.Json
+    public record CachedParentRecord(List<CachedRecord> views, CachedRecord primary) {}
+
+    @Test
+    void testSplicesCachedRecords() {
+        CachedRecord view = new CachedRecord("All", "https://example.com/");
+        CachedParentRecord parent =
+                new CachedParentRecord(
+                        List.of(view, new CachedRecord("All", "https://example.com/")), view);
+        String expected =
+                "{\"views\":[{\"name\":\"All\",\"url\":\"https:\\/\\/example.com\\/\"},"
+                        + "{\"name\":\"All\",\"url\":\"https:\\/\\/example.com\\/\"}],"
+                        + "\"primary\":{\"name\":\"All\",\"url\":\"https:\\/\\/example.com\\/\"}}";
+
+        assertThat(CachedParentRecordJsonSerDe.serialize(parent).toString()).isEqualTo(expected);
+        assertThat(CachedParentRecordJsonSerDe.serialize(parent).toString()).isEqualTo(expected);
+        assertThat(CachedParentRecordJsonSerDe.serializeToBytes(parent))
+                .isEqualTo(expected.getBytes(StandardCharsets.UTF_8));
+        assertThat(CachedRecordJsonSerDe.serializedLength(view))
+                .isEqualTo(CachedRecordJsonSerDe.serializeToBytes(view).length);
+        assertThat(
+                        CachedRecordJsonSerDe.deserialize(CachedRecordJsonSerDe.serialize(view))
+                                .unwrap())
+                .isEqualTo(view);
+    }
+
+    @Test
+    void testWritesCachedRecordsWithWriterOptions() {
+        CachedRecord view = new CachedRecord("All", "https://example.com/");
+        CachedParentRecord parent = new CachedParentRecord(List.of(view), view);
+        // populates the cache with the default, slash-escaping encoding
+        CachedParentRecordJsonSerDe.serialize(parent);
+
+        try (JsonWriter writer = JsonWriter.recycled(false)) {
+            CachedParentRecordJsonSerDe.serialize(parent, writer);
+            assertThat(writer.toString())
+                    .isEqualTo(
+                            "{\"views\":[{\"name\":\"All\",\"url\":\"https://example.com/\"}],"
+                                + "\"primary\":{\"name\":\"All\",\"url\":\"https://example.com/\"}}");
+        }
+        assertThat(CachedRecordJsonSerDe.serialize(view).toString())
+                .isEqualTo("{\"name\":\"All\",\"url\":\"https:\\/\\/example.com\\/\"}");
+    }
+
+    @SerDe.Json
+    public record BuildRecord(
+            String mode,
+            int executors,
+            List<CachedRecord> jobs,
+            CachedRecord primaryView,
+            Optional<BuildRecord> upstream) {}
+
+    @Test
+    void testParsesOnlyProjectedPaths() {
+        String json =
+                """
+                {
+                  "mode": "NORMAL",
+                  "executors": 4,
+                  "jobs": [{"name": "a", "url": "u1"}, {"name": "b", "url": "u2"}],
+                  "primaryView": {"name": "All", "url": "https://example.com/"},
+                  "upstream": {"mode": "EXCLUSIVE", "executors": 1, "jobs": []},
+                  "extra": [1, {"deep": true}]
+                }
+                """;
+        Parser<BuildRecord> parser =
+                BuildRecordJsonSerDe.parser(
+                        Projection.of("jobs[].name", "primaryView.url", "upstream.mode"));
+
+        assertThat(parser.parse(ParseState.of(json)).unwrap())
+                .isEqualTo(
+                        new BuildRecord(
+                                null,
+                                0,
+                                List.of(new CachedRecord("a", null), new CachedRecord("b", null)),
+                                new CachedRecord(null, "https://example.com/"),
+                                Optional.of(
+                                        new BuildRecord(
+                                                "EXCLUSIVE", 0, null, null, Optional.empty()))));
+        assertThat(
+                        BuildRecordJsonSerDe.parser(Projection.of("executors"))
+                                .parse(ParseState.of(json))
+                                .unwrap())
+                .isEqualTo(new BuildRecord(null, 4, null, null, Optional.empty()));
+        assertThat(BuildRecordJsonSerDe.parser(Projection.all()))
+                .isSameAs(BuildRecordJsonSerDe.parser());
+        // projected fields are still validated, and required when primitive
+        assertThat(
+                        BuildRecordJsonSerDe.parser(Projection.of("executors"))
+                                .parse(ParseState.of("{\"mode\": 1}"))
+                                .error()
+                                .map(ParseError::message))
+                .contains("Missing required field 'executors'");
+        assertThatThrownBy(() -> BuildRecordJsonSerDe.parser(Projection.of("jobs[].missing")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Cannot project unknown field 'missing'");
+    }
+
+    @SerDe.Json
+    public record SamplesRecord(
+            int[] ints,
+            long[] longs,
+            float[] floats,
+            double[] doubles,
+            boolean[] flags,
+            Map<Integer, List<double[]>> series,
+            Map<Long, String> labels) {}
+
+    @Test
+    void testPrimitiveArraysAndNumericKeys() {
+        SamplesRecord samples =
+                new SamplesRecord(
+                        new int[] {1, 2},
+                        new long[] {-3L},
+                        new float[] {0.5f},
+                        new double[] {},
+                        new boolean[] {true},
+                        ImmutableMap.of(7, List.of(new double[] {1.5, -2.0})),
+                        ImmutableMap.of(1234567890123L, "x"));
+        String expected =
+                "{\"ints\":[1,2],\"longs\":[-3],\"floats\":[0.5],\"doubles\":[],"
+                        + "\"flags\":[true],\"series\":{\"7\":[[1.5,-2.0]]},"
+                        + "\"labels\":{\"1234567890123\":\"x\"}}";
+
+        assertThat(SamplesRecordJsonSerDe.serialize(samples).toString()).isEqualTo(expected);
+        assertThat(SamplesRecordJsonSerDe.serializedLength(samples)).isEqualTo(expected.length());
+
+        SamplesRecord parsed =
+                SamplesRecordJsonSerDe.deserialize(new JsonCharSeq(expected)).unwrap();
+        assertThat(parsed.ints()).containsExactly(1, 2);
+        assertThat(parsed.longs()).containsExactly(-3L);
+        assertThat(parsed.floats()).containsExactly(0.5f);
+        assertThat(parsed.doubles()).isEmpty();
+        assertThat(parsed.flags()).containsExactly(true);
+        assertThat(parsed.series()).containsOnlyKeys(7);
+        assertThat(parsed.series().get(7).get(0)).containsExactly(1.5, -2.0);
+        assertThat(parsed.labels()).isEqualTo(Map.of(1234567890123L, "x"));
+        assertThat(SamplesRecordJsonSerDe.serialize(parsed).toString()).isEqualTo(expected);
+    }
+
+    @SerDe.Json(parallelThreshold = 100)
+    public record ExportRecord(List<TestRecord> rows, Set<String> tags) {}
+
+    @Test
+    void testSerializesLargeCollectionsInParallel() {
+        List<TestRecord> rows = new ArrayList<>();
+        StringBuilder expected = new StringBuilder("{\"rows\":[");
+        for (int i = 0; i < 5000; i++) {
+            rows.add(new TestRecord(i % 2 == 0 ? Optional.of("row" + i) : Optional.empty()));
+            expected.append(i == 0 ? "" : ",")
+                    .append(i % 2 == 0 ? "{\"testRecordField\":\"row" + i + "\"}" : "{}");
+        }
+        expected.append("],\"tags\":[\"a\"]}");
+        ExportRecord export = new ExportRecord(rows, Set.of("a"));
+
+        assertThat(ExportRecordJsonSerDe.serialize(export).toString())
+                .isEqualTo(expected.toString());
+        assertThat(ExportRecordJsonSerDe.serializeToBytes(export))
+                .isEqualTo(expected.toString().getBytes(StandardCharsets.UTF_8));
+        assertThat(ExportRecordJsonSerDe.deserialize(new JsonCharSeq(expected.toString())).unwrap())
+                .isEqualTo(export);
+    }
+
+    @SerDe.Json
+    public record StreamedRecord(
+            Stream<TestRecord> rows, Iterator<Integer> ids, Iterable<String> names) {}
+
+    @SerDe.Json
+    public record StreamedParentRecord(StreamedRecord result) {}
+
+    @Test
+    void testStreamsComponentsToSink() {
+        String expected =
+                "{\"rows\":[{\"testRecordField\":\"a\"},{}],\"ids\":[1,2],\"names\":[\"n\"]}";
+        ByteArrayOutputStream sink = new ByteArrayOutputStream();
+        try (JsonWriter writer = JsonWriter.streaming(sink)) {
+            StreamedRecordJsonSerDe.serialize(streamedRecord(), writer);
+        }
+        assertThat(sink.toString(StandardCharsets.UTF_8)).isEqualTo(expected);
+
+        assertThat(
+                        StreamedParentRecordJsonSerDe.serializeToBytes(
+                                new StreamedParentRecord(streamedRecord())))
+                .isEqualTo(("{\"result\":" + expected + "}").getBytes(StandardCharsets.UTF_8));
+
+        StreamedRecord parsed =
+                StreamedRecordJsonSerDe.deserialize(new JsonCharSeq(expected)).unwrap();
+        assertThat(parsed.rows())
+                .containsExactly(
+                        new TestRecord(Optional.of("a")), new TestRecord(Optional.empty()));
+        assertThat(parsed.ids()).toIterable().containsExactly(1, 2);
+        assertThat(parsed.names()).containsExactly("n");
+    }
+
+    @SerDe.Json
+    public record CursorRecord(Iterable<String> names) {}
+
+    @Test
+    void testSerializesOneShotIterablesToBytes() {
+        Iterator<String> cursor = List.of("a", "b").iterator();
+        assertThat(CursorRecordJsonSerDe.serializeToBytes(new CursorRecord(() -> cursor)))
+                .isEqualTo("{\"names\":[\"a\",\"b\"]}".getBytes(StandardCharsets.UTF_8));
+        assertThat(StreamedRecordJsonSerDe.serializeToBytes(streamedRecord()))
+                .isEqualTo(
+                        "{\"rows\":[{\"testRecordField\":\"a\"},{}],\"ids\":[1,2],\"names\":[\"n\"]}"
+                                .getBytes(StandardCharsets.UTF_8));
+        // streamed records, and records holding them, can't be measured without consuming them
+        assertThat(CursorRecordJsonSerDe.class.getMethods())
+                .extracting(Method::getName)
+                .contains("serializeToBytes")
+                .doesNotContain("serializedLength");
+        assertThat(StreamedParentRecordJsonSerDe.class.getMethods())
+                .extracting(Method::getName)
+                .doesNotContain("serializedLength");
+    }
+
+    /** Returns a record whose components, like database cursors, can each be iterated once. */
+    private static StreamedRecord streamedRecord() {
+        Iterator<String> names = List.of("n").iterator();
+        return new StreamedRecord(
+                Stream.of(new TestRecord(Optional.of("a")), new TestRecord(Optional.empty())),
+                List.of(1, 2).iterator(),
+                () -> names);
+    }
+
     @Test
     void testOtherRecordSerializationOutput() {
         assertThat(
@@ -34,6 +282,54 @@ final class JsonSerDeGeneratorTests {
                 .isEqualTo("{\"otherRecordField\":{\"1\":{\"testRecordField\":\"foo\"}}}");
     }
 
+    @Test
+    void testSerializesIntoSharedWriter() {
+        JsonWriter writer = new JsonWriter();
+        writer.beginArray();
+        PrimitivesRecordJsonSerDe.serialize(
+                new PrimitivesRecord(1, OptionalInt.empty(), List.of("a", "b")), writer);
+        OtherRecordJsonSerDe.serialize(new OtherRecord(Map.of()), writer);
+        EmptyRecordJsonSerDe.serialize(new EmptyRecord(), writer);
+        writer.endArray();
+        assertThat(writer.toString())
+                .isEqualTo("[{\"count\":1,\"names\":[\"a\",\"b\"]},{\"otherRecordField\":{}},{}]");
+    }
+
+    @Test
+    void testSerializesUtf8() {
+        JsonWriter writer = new JsonWriter();
+        OtherRecordJsonSerDe.serialize(
+                new OtherRecord(Map.of("\u00fc", new TestRecord(Optional.of("\u2615")))), writer);
+        assertThat(writer.toByteArray())
+                .isEqualTo(
+                        "{\"otherRecordField\":{\"\u00fc\":{\"testRecordField\":\"\u2615\"}}}"
+                                .getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testSerializesToExactlySizedBytes() {
+        OtherRecord other =
+                new OtherRecord(
+                        Map.of(
+                                "\u00fc",
+                                new TestRecord(Optional.of("a/b")),
+                                "e",
+                                new TestRecord(Optional.empty())));
+        PrimitivesRecord primitives =
+                new PrimitivesRecord(-12, OptionalInt.of(3), List.of("x", "\n"));
+
+        assertThat(OtherRecordJsonSerDe.serializedLength(other))
+                .isEqualTo(OtherRecordJsonSerDe.serializeToBytes(other).length);
+        assertThat(new String(OtherRecordJsonSerDe.serializeToBytes(other), StandardCharsets.UTF_8))
+                .isEqualTo(OtherRecordJsonSerDe.serialize(other).toString());
+        assertThat(PrimitivesRecordJsonSerDe.serializeToBytes(primitives))
+                .isEqualTo(
+                        "{\"count\":-12,\"maybeCount\":3,\"names\":[\"x\",\"\\n\"]}"
+                                .getBytes(StandardCharsets.UTF_8));
+        assertThat(EmptyRecordJsonSerDe.serializeToBytes(new EmptyRecord()))
+                .isEqualTo(new byte[] {'{', '}'});
+    }
+
     @Test
     void testOtherRecordDeserializes() throws Exception {
         assertThat(
@@ -49,4 +345,83 @@ final class JsonSerDeGeneratorTests {
                                 .orElseThrow())
                 .isEqualTo(new OtherRecord(ImmutableMap.of("1", new TestRecord(Optional.empty()))));
     }
+
+    @Test
+    void testOtherRecordDeserializesFromUtf8() {
+        byte[] json =
+                "{\"otherRecordField\":{\"\u00fc\":{\"testRecordField\":\"\u2615\"}}}"
+                        .getBytes(StandardCharsets.UTF_8);
+        OtherRecord expected =
+                new OtherRecord(ImmutableMap.of("\u00fc", new TestRecord(Optional.of("\u2615"))));
+
+        assertThat(OtherRecordJsonSerDe.deserialize(json).unwrap()).isEqualTo(expected);
+        assertThat(OtherRecordJsonSerDe.deserialize(ByteBuffer.wrap(json)).unwrap())
+                .isEqualTo(expected);
+        assertThat(OtherRecordJsonSerDe.deserialize(new ByteArrayInputStream(json)).unwrap())
+                .isEqualTo(expected);
+    }
+
+    @Test
+    void testPrimitivesRecordDeserializes() {
+        assertThat(
+                        PrimitivesRecordJsonSerDe.deserialize(
+                                        new JsonCharSeq(
+                                                """
+                        {"unknown": {"a": [1]}, "count": 3, "names": ["a", "b"]}
+                        """))
+                                .unwrap())
+                .isEqualTo(new PrimitivesRecord(3, OptionalInt.empty(), List.of("a", "b")));
+    }
+
+    @Test
+    void testPrimitivesRecord_missingRequiredField() {
+        assertThat(
+                        PrimitivesRecordJsonSerDe.deserialize(new JsonCharSeq("{\"names\": []}"))
+                                .error()
+                                .map(ParseError::errorString))
+                .contains(
+                        """
+                Parse error at line 1, column 13: Missing required field 'count':
+                {"names": []}
+                            ^
+                """);
+    }
+
+    /** Components named like the members of the generated builder. */
+    @SerDe.Json
+    public record BuilderNamesRecord(
+            String PARSER_0, int present0, Optional<String> UNKNOWN_FIELD, String value) {}
+
+    @Test
+    void testComponentsNamedLikeBuilderMembers() {
+        BuilderNamesRecord record = new BuilderNamesRecord("p", 3, Optional.of("u"), "v");
+        JsonCharSeq json = BuilderNamesRecordJsonSerDe.serialize(record);
+
+        assertThat(json.toString())
+                .isEqualTo(
+                        "{\"PARSER_0\":\"p\",\"present0\":3,\"UNKNOWN_FIELD\":\"u\",\"value\":\"v\"}");
+        assertThat(BuilderNamesRecordJsonSerDe.deserialize(json).unwrap()).isEqualTo(record);
+    }
+
+    @SerDe.Json
+    public record Picker(String selection, List<String> options) {}
+
+    @SerDe.Json
+    public record PickerHolder(Picker picker, int present0) {}
+
+    @Test
+    void testProjectsComponentsNamedLikeSelection() {
+        JsonCharSeq json =
+                new JsonCharSeq(
+                        "{\"picker\": {\"selection\": \"b\", \"options\": [\"a\", \"b\"]},"
+                                + " \"present0\": 1}");
+
+        assertThat(PickerHolderJsonSerDe.deserialize(json).unwrap())
+                .isEqualTo(new PickerHolder(new Picker("b", List.of("a", "b")), 1));
+        assertThat(
+                        PickerHolderJsonSerDe.parser(Projection.of("picker.selection", "present0"))
+                                .parse(ParseState.of(json))
+                                .unwrap())
+                .isEqualTo(new PickerHolder(new Picker("b", null), 1));
+    }
 }